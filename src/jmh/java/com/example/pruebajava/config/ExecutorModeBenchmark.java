@@ -0,0 +1,73 @@
+package com.example.pruebajava.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExecutorModeBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    ExecutorProperties.Mode mode;
+
+    @Param({"2000"})
+    int calls;
+
+    @Param({"50"})
+    long upstreamLatencyMs;
+
+    private UpstreamExecutors executors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (mode == ExecutorProperties.Mode.VIRTUAL && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21+, run with -p mode=PLATFORM");
+        }
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setMode(mode);
+        executors = new ExecutorConfig(properties).upstreamExecutors();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executors.shutdown();
+    }
+
+    @Benchmark
+    public int fanOutBlockingCalls() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+        for (int i = 0; i < calls; i++) {
+            int id = i;
+            futures[i] = CompletableFuture.supplyAsync(() -> simulateUpstreamCall(id), executors.comments());
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+
+    private int simulateUpstreamCall(int id) {
+        try {
+            Thread.sleep(upstreamLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.CommentsProperties;
+import com.example.pruebajava.config.EntityCacheProperties;
+import com.example.pruebajava.config.ExecutorConfig;
+import com.example.pruebajava.config.ExecutorProperties;
+import com.example.pruebajava.config.SnapshotProperties;
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MergedPostsBenchmark {
+    private static final int COMMENTS_PER_POST = 3;
+    private static final int MAX_USERS = 1_000;
+
+    @Param({"100", "10000", "100000", "1000000"})
+    int posts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UpstreamExecutors executors;
+    private PostService postService;
+    private List<Post> postList;
+    private Map<Integer, User> usersById;
+    private Map<Integer, List<Comment>> commentsByPost;
+    private List<MergedPost> merged;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int users = Math.max(1, Math.min(MAX_USERS, posts / 10));
+        postList = new ArrayList<>(posts);
+        List<Comment> comments = new ArrayList<>(posts * COMMENTS_PER_POST);
+        for (int id = 1; id <= posts; id++) {
+            Post post = new Post();
+            post.setId(id);
+            post.setUserId(1 + (id - 1) % users);
+            post.setTitle("title " + id);
+            post.setBody("body of post " + id);
+            postList.add(post);
+            for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                int commentId = (id - 1) * COMMENTS_PER_POST + c + 1;
+                comments.add(new Comment(id, commentId, "comment " + c, "commenter" + c + "@example.com",
+                    "comment body " + commentId));
+            }
+        }
+        usersById = postList.stream()
+            .map(Post::getUserId)
+            .distinct()
+            .collect(Collectors.toMap(Function.identity(),
+                userId -> new User(userId, "User " + userId, "user" + userId, "user" + userId + "@example.com")));
+        commentsByPost = PostService.groupByPostId(comments);
+        merged = PostService.assemble(postList, usersById, commentsByPost);
+
+        executors = new ExecutorConfig(new ExecutorProperties()).upstreamExecutors();
+        ExternalApiClient client = new BlockingExternalApiClient(new StubExternalApiService(postList, comments, usersById), executors);
+        postService = new PostService(client, new CommentsProperties(), new SnapshotProperties(),
+            new EntityCacheProperties(), Clock.systemUTC(), objectMapper, PostsSnapshotStore.disabled(),
+            new NoOpCacheManager(), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executors.shutdown();
+    }
+
+    @Benchmark
+    public List<MergedPost> rebuildAllMergedPosts() {
+        return postService.rebuildSnapshot().getPosts();
+    }
+
+    @Benchmark
+    public List<MergedPost> mapPostsToMergedPosts() {
+        return PostService.assemble(postList, usersById, commentsByPost);
+    }
+
+    @Benchmark
+    public byte[] serializeMergedPosts() throws Exception {
+        return objectMapper.writeValueAsBytes(merged);
+    }
+
+    static class StubExternalApiService extends ExternalApiService {
+        private final List<Post> posts;
+        private final List<Comment> comments;
+        private final Map<Integer, User> users;
+
+        StubExternalApiService(List<Post> posts, List<Comment> comments, Map<Integer, User> users) {
+            super(null, "http://stub");
+            this.posts = posts;
+            this.comments = comments;
+            this.users = users;
+        }
+
+        @Override
+        public List<Post> getPosts() {
+            return posts;
+        }
+
+        @Override
+        public List<Comment> getComments() {
+            return comments;
+        }
+
+        @Override
+        public List<Comment> getCommentsForPosts(Collection<Integer> postIds) {
+            return comments.stream().filter(comment -> postIds.contains(comment.getPostId())).collect(Collectors.toList());
+        }
+
+        @Override
+        public User getUser(Integer userId) {
+            return users.get(userId);
+        }
+    }
+}
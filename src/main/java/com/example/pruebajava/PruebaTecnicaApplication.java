@@ -2,9 +2,11 @@ package com.example.pruebajava;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableCaching
 public class PruebaTecnicaApplication {
     public static void main(String[] args) {
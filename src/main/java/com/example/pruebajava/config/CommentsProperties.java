@@ -0,0 +1,21 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "external.api.comments")
+public class CommentsProperties {
+
+    public enum FetchMode {
+        BULK,
+        BATCHED,
+        PER_POST
+    }
+
+    private FetchMode fetchMode = FetchMode.BULK;
+    private int batchSize = 50;
+
+    public FetchMode getFetchMode() { return fetchMode; }
+    public void setFetchMode(FetchMode fetchMode) { this.fetchMode = fetchMode; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+}
@@ -0,0 +1,54 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "external.api.cache")
+public class EntityCacheProperties {
+    private boolean enabled = true;
+    private Spec posts = new Spec(Duration.ofMinutes(5), Duration.ofMinutes(1), 1, 0);
+    private Spec post = new Spec(Duration.ofMinutes(5), Duration.ofMinutes(1), 1_000, 0);
+    private Spec users = new Spec(Duration.ofHours(1), Duration.ofMinutes(10), 1_000, 0);
+    private Spec comments = new Spec(Duration.ofMinutes(5), null, 0, 100_000);
+    private Spec merged = new Spec(Duration.ofMinutes(1), null, 1_000, 0);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Spec getPosts() { return posts; }
+    public void setPosts(Spec posts) { this.posts = posts; }
+    public Spec getPost() { return post; }
+    public void setPost(Spec post) { this.post = post; }
+    public Spec getUsers() { return users; }
+    public void setUsers(Spec users) { this.users = users; }
+    public Spec getComments() { return comments; }
+    public void setComments(Spec comments) { this.comments = comments; }
+    public Spec getMerged() { return merged; }
+    public void setMerged(Spec merged) { this.merged = merged; }
+
+    public static class Spec {
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+        private long maximumSize;
+        private long maximumWeight;
+
+        public Spec() {
+        }
+
+        public Spec(Duration expireAfterWrite, Duration refreshAfterWrite, long maximumSize, long maximumWeight) {
+            this.expireAfterWrite = expireAfterWrite;
+            this.refreshAfterWrite = refreshAfterWrite;
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getExpireAfterWrite() { return expireAfterWrite; }
+        public void setExpireAfterWrite(Duration expireAfterWrite) { this.expireAfterWrite = expireAfterWrite; }
+        public Duration getRefreshAfterWrite() { return refreshAfterWrite; }
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) { this.refreshAfterWrite = refreshAfterWrite; }
+        public long getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+        public long getMaximumWeight() { return maximumWeight; }
+        public void setMaximumWeight(long maximumWeight) { this.maximumWeight = maximumWeight; }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.pruebajava.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    private final ExecutorProperties properties;
+
+    public ExecutorConfig(ExecutorProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public UpstreamExecutors upstreamExecutors() {
+        if (properties.getMode() == ExecutorProperties.Mode.VIRTUAL) {
+            if (VirtualThreads.isSupported()) {
+                logger.info("Running upstream calls on virtual threads");
+                return new UpstreamExecutors(
+                    VirtualThreads.newPerTaskExecutor("upstream-posts-").orElseThrow(),
+                    VirtualThreads.newPerTaskExecutor("upstream-users-").orElseThrow(),
+                    VirtualThreads.newPerTaskExecutor("upstream-comments-").orElseThrow(),
+                    properties.getShutdownTimeout());
+            }
+            logger.warn("Virtual threads are not available on Java {}, falling back to platform thread pools",
+                Runtime.version().feature());
+        }
+
+        return new UpstreamExecutors(
+            createExecutor("upstream-posts-", properties.getPosts()),
+            createExecutor("upstream-users-", properties.getUsers()),
+            createExecutor("upstream-comments-", properties.getComments()),
+            properties.getShutdownTimeout());
+    }
+
+    @Bean
+    public MeterBinder upstreamExecutorMetrics(UpstreamExecutors upstreamExecutors) {
+        return registry -> upstreamExecutors.byResource().forEach((resource, executor) -> {
+            ExecutorService service = executor instanceof ThreadPoolTaskExecutor
+                ? ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor()
+                : executor instanceof ExecutorService ? (ExecutorService) executor : null;
+            if (service != null) {
+                new ExecutorServiceMetrics(service, "upstream." + resource, Tags.empty()).bindTo(registry);
+            }
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "upstream.executors", name = "virtual-request-threads", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        Optional<ExecutorService> executor = VirtualThreads.newPerTaskExecutor("http-virtual-");
+        if (executor.isEmpty()) {
+            logger.warn("Virtual threads are not available on Java {}, Tomcat keeps its platform request pool",
+                Runtime.version().feature());
+        }
+        return protocolHandler -> executor.ifPresent(requestExecutor -> {
+            logger.info("Handling Tomcat requests on virtual threads");
+            protocolHandler.setExecutor(requestExecutor);
+        });
+    }
+
+    private Executor createExecutor(String threadNamePrefix, ExecutorProperties.Pool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(Math.max(pool.getCoreSize(), pool.getMaxSize()));
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().getSeconds());
+        executor.setRejectedExecutionHandler(pool.getRejectionPolicy() == ExecutorProperties.RejectionPolicy.ABORT
+            ? new ThreadPoolExecutor.AbortPolicy()
+            : new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds((int) properties.getShutdownTimeout().getSeconds());
+        executor.initialize();
+        return executor;
+    }
+}
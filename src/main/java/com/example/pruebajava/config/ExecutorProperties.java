@@ -0,0 +1,67 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "upstream.executors")
+public class ExecutorProperties {
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    public enum RejectionPolicy {
+        ABORT,
+        CALLER_RUNS
+    }
+
+    private Mode mode = Mode.PLATFORM;
+    private boolean virtualRequestThreads = false;
+    private Pool posts = new Pool(2, 4, 50);
+    private Pool users = new Pool(10, 20, 200);
+    private Pool comments = new Pool(20, 50, 500);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+    public boolean isVirtualRequestThreads() { return virtualRequestThreads; }
+    public void setVirtualRequestThreads(boolean virtualRequestThreads) { this.virtualRequestThreads = virtualRequestThreads; }
+    public Pool getPosts() { return posts; }
+    public void setPosts(Pool posts) { this.posts = posts; }
+    public Pool getUsers() { return users; }
+    public void setUsers(Pool users) { this.users = users; }
+    public Pool getComments() { return comments; }
+    public void setComments(Pool comments) { this.comments = comments; }
+    public Duration getShutdownTimeout() { return shutdownTimeout; }
+    public void setShutdownTimeout(Duration shutdownTimeout) { this.shutdownTimeout = shutdownTimeout; }
+
+    public static class Pool {
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private Duration keepAlive = Duration.ofSeconds(60);
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        public Pool() {
+        }
+
+        public Pool(int coreSize, int maxSize, int queueCapacity) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getCoreSize() { return coreSize; }
+        public void setCoreSize(int coreSize) { this.coreSize = coreSize; }
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public Duration getKeepAlive() { return keepAlive; }
+        public void setKeepAlive(Duration keepAlive) { this.keepAlive = keepAlive; }
+        public RejectionPolicy getRejectionPolicy() { return rejectionPolicy; }
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) { this.rejectionPolicy = rejectionPolicy; }
+    }
+}
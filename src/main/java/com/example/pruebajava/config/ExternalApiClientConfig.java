@@ -0,0 +1,73 @@
+package com.example.pruebajava.config;
+
+import com.example.pruebajava.service.BlockingExternalApiClient;
+import com.example.pruebajava.service.CachingExternalApiClient;
+import com.example.pruebajava.service.CoalescingExternalApiClient;
+import com.example.pruebajava.service.ExternalApiClient;
+import com.example.pruebajava.service.ExternalApiService;
+import com.example.pruebajava.service.HedgingExternalApiClient;
+import com.example.pruebajava.service.ReactiveExternalApiClient;
+import com.example.pruebajava.service.ResilientExternalApiClient;
+import com.example.pruebajava.service.TimedExternalApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+
+@Configuration
+public class ExternalApiClientConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExternalApiClientConfig.class);
+
+    @Bean
+    public ExternalApiClient externalApiClient(@Value("${external.api.client:blocking}") String clientMode,
+                                               ExternalApiService externalApiService,
+                                               UpstreamExecutors upstreamExecutors,
+                                               ObjectProvider<WebClient> upstreamWebClient,
+                                               EntityCacheProperties cacheProperties,
+                                               ResilienceProperties resilienceProperties,
+                                               HedgingProperties hedgingProperties,
+                                               Clock clock,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        ExternalApiClient client = "reactive".equalsIgnoreCase(clientMode)
+            ? new ReactiveExternalApiClient(upstreamWebClient.getObject())
+            : new BlockingExternalApiClient(externalApiService, upstreamExecutors);
+        logger.info("Using {} external API client", client.getClass().getSimpleName());
+
+        MeterRegistry timerRegistry = meterRegistry.getIfAvailable();
+        if (timerRegistry != null) {
+            client = new TimedExternalApiClient(client, timerRegistry);
+        }
+
+        if (resilienceProperties.isEnabled()) {
+            ResilientExternalApiClient resilientClient = new ResilientExternalApiClient(client, resilienceProperties, clock,
+                upstreamExecutors);
+            meterRegistry.ifAvailable(resilientClient::bindTo);
+            client = resilientClient;
+        }
+
+        if (hedgingProperties.isEnabled()) {
+            HedgingExternalApiClient hedgingClient = new HedgingExternalApiClient(client, hedgingProperties, upstreamExecutors);
+            meterRegistry.ifAvailable(hedgingClient::bindTo);
+            client = hedgingClient;
+        }
+
+        CoalescingExternalApiClient coalescingClient = new CoalescingExternalApiClient(client);
+        meterRegistry.ifAvailable(coalescingClient::bindTo);
+        client = coalescingClient;
+
+        if (cacheProperties.isEnabled()) {
+            CachingExternalApiClient cachingClient = new CachingExternalApiClient(client, cacheProperties);
+            meterRegistry.ifAvailable(registry -> cachingClient.caches()
+                .forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name)));
+            client = cachingClient;
+        }
+        return client;
+    }
+}
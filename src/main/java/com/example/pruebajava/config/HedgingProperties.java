@@ -0,0 +1,31 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "external.api.hedging")
+public class HedgingProperties {
+    private boolean enabled = false;
+    private double delayPercentile = 95;
+    private Duration initialDelay = Duration.ofMillis(200);
+    private Duration minDelay = Duration.ofMillis(20);
+    private int minSamples = 20;
+    private double budgetRatio = 0.1;
+    private int budgetMaxTokens = 10;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public double getDelayPercentile() { return delayPercentile; }
+    public void setDelayPercentile(double delayPercentile) { this.delayPercentile = delayPercentile; }
+    public Duration getInitialDelay() { return initialDelay; }
+    public void setInitialDelay(Duration initialDelay) { this.initialDelay = initialDelay; }
+    public Duration getMinDelay() { return minDelay; }
+    public void setMinDelay(Duration minDelay) { this.minDelay = minDelay; }
+    public int getMinSamples() { return minSamples; }
+    public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+    public double getBudgetRatio() { return budgetRatio; }
+    public void setBudgetRatio(double budgetRatio) { this.budgetRatio = budgetRatio; }
+    public int getBudgetMaxTokens() { return budgetMaxTokens; }
+    public void setBudgetMaxTokens(int budgetMaxTokens) { this.budgetMaxTokens = budgetMaxTokens; }
+}
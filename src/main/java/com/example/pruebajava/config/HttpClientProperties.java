@@ -0,0 +1,37 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "external.api.http")
+public class HttpClientProperties {
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration timeToLive = Duration.ofMinutes(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+    public Duration getReadTimeout() { return readTimeout; }
+    public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    public Duration getConnectionRequestTimeout() { return connectionRequestTimeout; }
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) { this.connectionRequestTimeout = connectionRequestTimeout; }
+    public int getMaxTotal() { return maxTotal; }
+    public void setMaxTotal(int maxTotal) { this.maxTotal = maxTotal; }
+    public int getMaxPerRoute() { return maxPerRoute; }
+    public void setMaxPerRoute(int maxPerRoute) { this.maxPerRoute = maxPerRoute; }
+    public Duration getKeepAlive() { return keepAlive; }
+    public void setKeepAlive(Duration keepAlive) { this.keepAlive = keepAlive; }
+    public Duration getTimeToLive() { return timeToLive; }
+    public void setTimeToLive(Duration timeToLive) { this.timeToLive = timeToLive; }
+    public Duration getMaxIdleTime() { return maxIdleTime; }
+    public void setMaxIdleTime(Duration maxIdleTime) { this.maxIdleTime = maxIdleTime; }
+    public Duration getValidateAfterInactivity() { return validateAfterInactivity; }
+    public void setValidateAfterInactivity(Duration validateAfterInactivity) { this.validateAfterInactivity = validateAfterInactivity; }
+}
@@ -0,0 +1,57 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "external.api.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Retry retry = new Retry();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public CircuitBreaker getCircuitBreaker() { return circuitBreaker; }
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) { this.circuitBreaker = circuitBreaker; }
+    public Retry getRetry() { return retry; }
+    public void setRetry(Retry retry) { this.retry = retry; }
+
+    public static class CircuitBreaker {
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+
+        public int getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(int slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+        public int getMinimumCalls() { return minimumCalls; }
+        public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+        public int getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(int failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+        public Duration getOpenDuration() { return openDuration; }
+        public void setOpenDuration(Duration openDuration) { this.openDuration = openDuration; }
+        public int getHalfOpenCalls() { return halfOpenCalls; }
+        public void setHalfOpenCalls(int halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+    }
+
+    public static class Retry {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        private double budgetRatio = 0.2;
+        private int budgetMaxTokens = 10;
+
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        public Duration getInitialBackoff() { return initialBackoff; }
+        public void setInitialBackoff(Duration initialBackoff) { this.initialBackoff = initialBackoff; }
+        public Duration getMaxBackoff() { return maxBackoff; }
+        public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+        public double getBudgetRatio() { return budgetRatio; }
+        public void setBudgetRatio(double budgetRatio) { this.budgetRatio = budgetRatio; }
+        public int getBudgetMaxTokens() { return budgetMaxTokens; }
+        public void setBudgetMaxTokens(int budgetMaxTokens) { this.budgetMaxTokens = budgetMaxTokens; }
+    }
+}
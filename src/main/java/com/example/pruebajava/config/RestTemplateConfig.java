@@ -1,18 +1,87 @@
 package com.example.pruebajava.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
 @Configuration
 public class RestTemplateConfig {
 
+    private final HttpClientProperties properties;
+
+    public RestTemplateConfig(HttpClientProperties properties) {
+        this.properties = properties;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(10000);
-        return new RestTemplate(factory);
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager =
+            new PoolingHttpClientConnectionManager(properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+            .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+            .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+            .build();
+
+        return HttpClients.custom()
+            .setConnectionManager(httpConnectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setKeepAliveStrategy(keepAliveStrategy())
+            .evictExpiredConnections()
+            .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    @Bean
+    public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return registry -> {
+            registerPoolGauge(registry, httpConnectionManager, "http.client.pool.leased", "Connections in use", PoolStats::getLeased);
+            registerPoolGauge(registry, httpConnectionManager, "http.client.pool.available", "Idle connections ready to be leased", PoolStats::getAvailable);
+            registerPoolGauge(registry, httpConnectionManager, "http.client.pool.pending", "Requests waiting for a connection", PoolStats::getPending);
+            registerPoolGauge(registry, httpConnectionManager, "http.client.pool.max", "Maximum pooled connections", PoolStats::getMax);
+        };
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        long defaultKeepAlive = properties.getKeepAlive().toMillis();
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, defaultKeepAlive) : defaultKeepAlive;
+        };
+    }
+
+    private static void registerPoolGauge(MeterRegistry registry,
+                                          PoolingHttpClientConnectionManager connectionManager,
+                                          String name, String description, ToIntFunction<PoolStats> stat) {
+        Gauge.builder(name, connectionManager, manager -> stat.applyAsInt(manager.getTotalStats()))
+            .description(description)
+            .register(registry);
     }
 }
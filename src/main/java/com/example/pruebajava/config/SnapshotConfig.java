@@ -0,0 +1,57 @@
+package com.example.pruebajava.config;
+
+import com.example.pruebajava.service.PostService;
+import com.example.pruebajava.service.PostsSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+public class SnapshotConfig implements SchedulingConfigurer {
+
+    private final SnapshotProperties properties;
+    private final WarmUpProperties warmUpProperties;
+    private final ObjectProvider<PostService> postService;
+
+    public SnapshotConfig(SnapshotProperties properties, WarmUpProperties warmUpProperties,
+                          ObjectProvider<PostService> postService) {
+        this.properties = properties;
+        this.warmUpProperties = warmUpProperties;
+        this.postService = postService;
+    }
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public PostsSnapshotStore postsSnapshotStore(ObjectMapper objectMapper) {
+        return properties.getFile() != null
+            ? new PostsSnapshotStore(properties.getFile(), objectMapper)
+            : PostsSnapshotStore.disabled();
+    }
+
+    @Bean
+    public SmartInitializingSingleton postsSnapshotRestorer() {
+        return () -> postService.getObject().restoreSnapshot();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        long interval = properties.getRefreshInterval().toMillis();
+        if (interval > 0) {
+            long initialDelay = warmUpProperties.isEnabled() ? interval : 0;
+            registrar.addFixedDelayTask(new IntervalTask(() -> postService.getObject().refreshSnapshot(), interval, initialDelay));
+        }
+    }
+}
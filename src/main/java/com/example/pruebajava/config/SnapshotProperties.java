@@ -0,0 +1,20 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "posts.snapshot")
+public class SnapshotProperties {
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    private Duration maxStaleAge = Duration.ofMinutes(30);
+    private Path file;
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+    public Duration getMaxStaleAge() { return maxStaleAge; }
+    public void setMaxStaleAge(Duration maxStaleAge) { this.maxStaleAge = maxStaleAge; }
+    public Path getFile() { return file; }
+    public void setFile(Path file) { this.file = file; }
+}
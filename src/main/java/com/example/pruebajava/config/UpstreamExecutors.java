@@ -0,0 +1,73 @@
+package com.example.pruebajava.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ExecutorConfigurationSupport;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class UpstreamExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamExecutors.class);
+
+    private final Executor posts;
+    private final Executor users;
+    private final Executor comments;
+    private final Duration shutdownTimeout;
+
+    public UpstreamExecutors(Executor posts, Executor users, Executor comments) {
+        this(posts, users, comments, Duration.ZERO);
+    }
+
+    public UpstreamExecutors(Executor posts, Executor users, Executor comments, Duration shutdownTimeout) {
+        this.posts = posts;
+        this.users = users;
+        this.comments = comments;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public static UpstreamExecutors sameThread() {
+        Executor direct = Runnable::run;
+        return new UpstreamExecutors(direct, direct, direct);
+    }
+
+    public Executor posts() { return posts; }
+    public Executor users() { return users; }
+    public Executor comments() { return comments; }
+
+    public Map<String, Executor> byResource() {
+        Map<String, Executor> executors = new LinkedHashMap<>();
+        executors.put("posts", posts);
+        executors.put("users", users);
+        executors.put("comments", comments);
+        return executors;
+    }
+
+    public void shutdown() {
+        Arrays.asList(posts, users, comments).forEach(executor -> {
+            if (executor instanceof ExecutorConfigurationSupport) {
+                ((ExecutorConfigurationSupport) executor).shutdown();
+            } else if (executor instanceof ExecutorService) {
+                shutdown((ExecutorService) executor);
+            }
+        });
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Upstream executor did not terminate within {}", shutdownTimeout);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.pruebajava.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return newPerTaskExecutor("virtual-probe-")
+            .map(executor -> {
+                executor.shutdown();
+                return true;
+            })
+            .orElse(false);
+    }
+
+    public static Optional<ExecutorService> newPerTaskExecutor(String threadNamePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, factory));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        } catch (InvocationTargetException e) {
+            // Java 19/20 expose the API but reject it unless --enable-preview is set
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.pruebajava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "posts.warm-up")
+public class WarmUpProperties {
+    private boolean enabled = true;
+    private Duration timeout = Duration.ofSeconds(30);
+    private Duration retryInterval = Duration.ofSeconds(2);
+    private int parallelism = 8;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    public Duration getRetryInterval() { return retryInterval; }
+    public void setRetryInterval(Duration retryInterval) { this.retryInterval = retryInterval; }
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+}
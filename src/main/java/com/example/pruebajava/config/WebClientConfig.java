@@ -0,0 +1,45 @@
+package com.example.pruebajava.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(prefix = "external.api", name = "client", havingValue = "reactive")
+public class WebClientConfig {
+
+    private final HttpClientProperties properties;
+
+    public WebClientConfig(HttpClientProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider() {
+        return ConnectionProvider.builder("upstream")
+            .maxConnections(properties.getMaxTotal())
+            .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+            .maxIdleTime(properties.getMaxIdleTime())
+            .maxLifeTime(properties.getTimeToLive())
+            .evictInBackground(properties.getMaxIdleTime())
+            .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(WebClient.Builder builder, ConnectionProvider upstreamConnectionProvider,
+                                       @Value("${external.api.base-url}") String baseUrl) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getReadTimeout());
+        return builder
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.pruebajava.controller;
 
 import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.dto.PostsPage;
+import com.example.pruebajava.exception.ApiException;
+import com.example.pruebajava.service.FetchPlan;
+import com.example.pruebajava.service.FieldSet;
 import com.example.pruebajava.service.PostService;
+import com.example.pruebajava.service.PostsSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,12 +17,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/posts")
@@ -24,11 +40,17 @@ import java.util.List;
 @Tag(name = "Posts", description = "API para gestión de posts con integración de servicios externos")
 public class PostsController {
     private static final Logger logger = LoggerFactory.getLogger(PostsController.class);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final PostService postService;
+    private final ObjectMapper objectMapper;
 
-    public PostsController(PostService postService) {
+    public PostsController(PostService postService, ObjectMapper objectMapper) {
         this.postService = postService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -36,7 +58,15 @@ public class PostsController {
         summary = "Obtener todos los posts con información completa",
         description = "Obtiene todos los posts del servicio externo JSONPlaceholder, " +
                     "mergeando información de posts, comentarios y usuarios autores. " +
-                    "Utiliza cache para optimizar rendimiento en llamadas repetidas."
+                    "Utiliza cache para optimizar rendimiento en llamadas repetidas. " +
+                    "Con los parámetros limit/cursor devuelve una sola página y el cursor de la siguiente " +
+                    "en los headers X-Next-Cursor y Link. La lista completa incluye un ETag; si el header " +
+                    "If-None-Match coincide responde 304 sin cuerpo. Con fields se devuelven solo los campos " +
+                    "indicados, admitiendo rutas anidadas (por ejemplo fields=id,title,user.name). Con expand " +
+                    "se eligen las relaciones a obtener (user, comments); sin expand se deducen de fields y, si " +
+                    "tampoco hay fields, se incluyen ambas. Las relaciones no expandidas no se consultan al upstream " +
+                    "ni aparecen en la respuesta. Con userId devuelve solo los posts de ese usuario, resueltos " +
+                    "desde el índice del snapshot."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -47,6 +77,18 @@ public class PostsController {
                 schema = @Schema(implementation = MergedPost.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304", 
+            description = "La lista completa no cambió desde el ETag indicado en If-None-Match"
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Parámetros inválidos (limit, cursor, fields o expand)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.example.pruebajava.exception.GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
         @ApiResponse(
             responseCode = "502", 
             description = "Error en servicio externo",
@@ -72,11 +114,306 @@ public class PostsController {
             )
         )
     })
-    public ResponseEntity<List<MergedPost>> getPosts() {
-        logger.info("GET /posts requested");
-        List<MergedPost> merged = postService.getAllMergedPosts();
-        logger.info("Successfully returned {} merged posts", merged.size());
-        return ResponseEntity.ok(merged);
+    public ResponseEntity<?> getPosts(
+            @Parameter(description = "Cantidad máxima de posts por página (activa la paginación)", example = "20")
+            @RequestParam(required = false) @Min(value = 1, message = "Limit must be greater than 0")
+            @Max(value = MAX_PAGE_SIZE, message = "Limit must be at most " + MAX_PAGE_SIZE) Integer limit,
+            @Parameter(description = "Cursor opaco devuelto en el header X-Next-Cursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "ID del usuario autor para filtrar los posts", example = "1")
+            @RequestParam(required = false) @Min(value = 1, message = "User ID must be greater than 0") Integer userId,
+            @Parameter(description = "Campos a incluir separados por coma, con rutas anidadas para user y comments",
+                example = "id,title,user.name")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Relaciones a incluir separadas por coma (user, comments) o none", example = "user")
+            @RequestParam(required = false) String expand,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        FieldSet requested = FieldSet.parse(fields);
+        FetchPlan plan = fetchPlan(FetchPlan.parse(expand), requested);
+        FieldSet fieldSet = requested != null ? requested : FieldSet.forPlan(plan);
+        if (userId != null) {
+            if (limit != null || cursor != null) {
+                throw new ApiException("userId cannot be combined with limit or cursor");
+            }
+            logger.info("GET /posts requested for user {} with expansion {}", userId, plan);
+            return body(ResponseEntity.ok(), fieldSet, postService.getPostsByUser(userId, plan));
+        }
+        if (limit == null && cursor == null) {
+            logger.info("GET /posts requested with fields {} and expansion {}", fieldSet != null ? fieldSet : "all", plan);
+            return allPosts(plan, fieldSet, ifNoneMatch, acceptEncoding);
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        logger.info("GET /posts requested with limit {}, cursor {} and expansion {}", pageSize, cursor, plan);
+        PostsPage page = postService.getMergedPostsPage(cursor, pageSize, plan);
+        logger.info("Successfully returned page of {} merged posts", page.getItems().size());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            String next = UriComponentsBuilder.fromPath("/posts")
+                .queryParam("limit", pageSize)
+                .queryParam("cursor", page.getNextCursor())
+                .queryParamIfPresent("fields", Optional.ofNullable(fields))
+                .queryParamIfPresent("expand", Optional.ofNullable(expand))
+                .encode()
+                .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return body(response, fieldSet, page.getItems());
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Buscar posts por texto",
+        description = "Busca posts cuyo título, cuerpo o comentarios contengan todas las palabras de q " +
+                    "(sin distinguir mayúsculas). Se resuelve desde el índice invertido del snapshot, " +
+                    "sin consultar el upstream. Admite fields y expand para reducir la respuesta."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Posts que coinciden con la búsqueda, en orden de id",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MergedPost.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros inválidos (q vacío, limit, fields o expand)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.example.pruebajava.exception.GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<?> searchPosts(
+            @Parameter(description = "Palabras a buscar en título, cuerpo y comentarios", required = true, example = "dolorem")
+            @RequestParam @NotBlank(message = "Query must not be blank") String q,
+            @Parameter(description = "Cantidad máxima de resultados", example = "20")
+            @RequestParam(required = false) @Min(value = 1, message = "Limit must be greater than 0")
+            @Max(value = MAX_PAGE_SIZE, message = "Limit must be at most " + MAX_PAGE_SIZE) Integer limit,
+            @Parameter(description = "Campos a incluir separados por coma, con rutas anidadas para user y comments",
+                example = "id,title,user.name")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Relaciones a incluir separadas por coma (user, comments) o none", example = "user")
+            @RequestParam(required = false) String expand) {
+        FieldSet requested = FieldSet.parse(fields);
+        FetchPlan plan = fetchPlan(FetchPlan.parse(expand), requested);
+        FieldSet fieldSet = requested != null ? requested : FieldSet.forPlan(plan);
+        logger.info("GET /posts/search requested with q '{}'", q);
+        List<MergedPost> results = postService.searchPosts(q, limit != null ? limit : DEFAULT_PAGE_SIZE);
+        return body(ResponseEntity.ok(), fieldSet, results);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Obtener un post mergeado",
+        description = "Devuelve un post con su usuario y sus comentarios. Si hay un snapshot vigente se responde " +
+                    "desde él; si no, se consultan solo ese post, su usuario y sus comentarios, que quedan " +
+                    "cacheados por id. Admite fields y expand igual que el listado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Post mergeado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MergedPost.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros inválidos (id, fields o expand)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.example.pruebajava.exception.GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Post no encontrado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.example.pruebajava.exception.GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "502",
+            description = "Error en servicio externo",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.example.pruebajava.exception.GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<?> getPost(
+            @Parameter(description = "ID del post", required = true, example = "1")
+            @PathVariable @Min(value = 1, message = "Post ID must be greater than 0") Integer id,
+            @Parameter(description = "Campos a incluir separados por coma, con rutas anidadas para user y comments",
+                example = "id,title,user.name")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Relaciones a incluir separadas por coma (user, comments) o none", example = "user")
+            @RequestParam(required = false) String expand) {
+        FieldSet requested = FieldSet.parse(fields);
+        FetchPlan plan = fetchPlan(FetchPlan.parse(expand), requested);
+        FieldSet fieldSet = requested != null ? requested : FieldSet.forPlan(plan);
+        logger.info("GET /posts/{} requested", id);
+        MergedPost post = postService.getMergedPost(id, plan);
+        if (fieldSet != null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(fieldSet.write(objectMapper, post));
+        }
+        return ResponseEntity.ok(post);
+    }
+
+    private ResponseEntity<?> body(ResponseEntity.BodyBuilder response, FieldSet fieldSet, List<MergedPost> posts) {
+        if (fieldSet != null) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(fieldSet.write(objectMapper, posts));
+        }
+        return response.body(posts);
+    }
+
+    private ResponseEntity<byte[]> allPosts(FetchPlan plan, FieldSet fieldSet, String ifNoneMatch, String acceptEncoding) {
+        PostsSnapshot snapshot = postService.getSnapshot(plan);
+        PostsSnapshot.Variant variant = snapshot.variant(fieldSet, objectMapper);
+        String encoding = negotiateEncoding(acceptEncoding);
+        String etag = variant.eTag(encoding);
+        if (matchesETag(ifNoneMatch, etag)) {
+            logger.info("Merged posts unchanged for etag {}, returning 304", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        logger.info("Successfully returned {} merged posts ({} encoding)",
+            snapshot.getPosts().size(), encoding != null ? encoding : "identity");
+        return response.body(variant.body(encoding));
+    }
+
+    static FetchPlan fetchPlan(FetchPlan expanded, FieldSet fieldSet) {
+        if (expanded == null) {
+            return fieldSet != null ? FetchPlan.of(fieldSet.includesUser(), fieldSet.includesComments()) : FetchPlan.ALL;
+        }
+        if (fieldSet != null && (fieldSet.includesUser() && !expanded.includesUsers()
+                || fieldSet.includesComments() && !expanded.includesComments())) {
+            throw new ApiException("Fields '" + fieldSet + "' require relations missing from expand=" + expanded);
+        }
+        return expanded;
+    }
+
+    static String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            String coding = parts[0].trim().toLowerCase();
+            if (isRejected(parts)) {
+                continue;
+            }
+            if (coding.equals(PostsSnapshot.GZIP) || coding.equals("*")) {
+                return PostsSnapshot.GZIP;
+            }
+            deflate |= coding.equals(PostsSnapshot.DEFLATE);
+        }
+        return deflate ? PostsSnapshot.DEFLATE : null;
+    }
+
+    private static boolean isRejected(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String param = codingParts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals("\"" + etag + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @GetMapping(produces = NDJSON_VALUE)
+    @Operation(
+        summary = "Obtener todos los posts en streaming (NDJSON)",
+        description = "Escribe cada post mergeado como una línea JSON en cuanto sus usuarios y comentarios " +
+                    "están disponibles, sin construir la lista completa en memoria. " +
+                    "Se activa con el header Accept: application/x-ndjson o con el parámetro stream=true."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Posts enviados en streaming",
+            content = @Content(
+                mediaType = NDJSON_VALUE,
+                schema = @Schema(implementation = MergedPost.class)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamPosts(
+            @Parameter(description = "Campos a incluir separados por coma, con rutas anidadas para user y comments",
+                example = "id,title,user.name")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Relaciones a incluir separadas por coma (user, comments) o none", example = "user")
+            @RequestParam(required = false) String expand) {
+        logger.info("GET /posts requested as NDJSON stream");
+        FieldSet requested = FieldSet.parse(fields);
+        FetchPlan plan = fetchPlan(FetchPlan.parse(expand), requested);
+        FieldSet fieldSet = requested != null ? requested : FieldSet.forPlan(plan);
+        StreamingResponseBody body = outputStream -> postService.streamMergedPosts(plan, chunk -> {
+            try {
+                for (MergedPost mergedPost : chunk) {
+                    if (fieldSet != null) {
+                        fieldSet.write(objectMapper, mergedPost, outputStream);
+                    } else {
+                        outputStream.write(objectMapper.writeValueAsBytes(mergedPost));
+                    }
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+            .body(body);
+    }
+
+    @GetMapping(params = "stream=true")
+    @Operation(hidden = true)
+    public ResponseEntity<StreamingResponseBody> streamPostsByFlag(@RequestParam(required = false) String fields,
+                                                                   @RequestParam(required = false) String expand) {
+        return streamPosts(fields, expand);
     }
 
     @DeleteMapping("/{id}")
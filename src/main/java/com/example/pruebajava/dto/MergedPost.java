@@ -2,27 +2,35 @@ package com.example.pruebajava.dto;
 
 import com.example.pruebajava.model.Comment;
 import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 
-public class MergedPost {
-    private Integer id;
-    private Integer userId;
-    private String title;
-    private String body;
-    private User user;
-    private List<Comment> comments;
+public final class MergedPost {
+    private final Integer id;
+    private final Integer userId;
+    private final String title;
+    private final String body;
+    private final User user;
+    private final List<Comment> comments;
+
+    @JsonCreator
+    public MergedPost(@JsonProperty("id") Integer id, @JsonProperty("userId") Integer userId,
+                      @JsonProperty("title") String title, @JsonProperty("body") String body,
+                      @JsonProperty("user") User user, @JsonProperty("comments") List<Comment> comments) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.body = body;
+        this.user = user;
+        this.comments = comments != null ? List.copyOf(comments) : List.of();
+    }
 
     public Integer getId() { return id; }
-    public void setId(Integer id) { this.id = id; }
     public Integer getUserId() { return userId; }
-    public void setUserId(Integer userId) { this.userId = userId; }
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
     public String getBody() { return body; }
-    public void setBody(String body) { this.body = body; }
     public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
     public List<Comment> getComments() { return comments; }
-    public void setComments(List<Comment> comments) { this.comments = comments; }
 }
@@ -0,0 +1,22 @@
+package com.example.pruebajava.dto;
+
+import java.util.List;
+
+public class PostsPage {
+    private List<MergedPost> items;
+    private String nextCursor;
+
+    public PostsPage() {
+    }
+
+    public PostsPage(List<MergedPost> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<MergedPost> getItems() { return items; }
+    public void setItems(List<MergedPost> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean hasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,16 @@
+package com.example.pruebajava.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+
+    public static BulkheadFullException forService(String serviceName) {
+        return new BulkheadFullException("Too many concurrent calls to external service '" + serviceName + "'");
+    }
+}
@@ -18,6 +18,10 @@ public class ExternalServiceException extends RuntimeException {
         return new ExternalServiceException("External service '" + serviceName + "' is currently unavailable");
     }
     
+    public static ExternalServiceException circuitOpen(String serviceName) {
+        return new ExternalServiceException("Circuit breaker open for external service '" + serviceName + "', failing fast");
+    }
+    
     public static ExternalServiceException timeout(String serviceName, int timeoutSeconds) {
         return new ExternalServiceException("Timeout calling external service '" + serviceName + "' after " + timeoutSeconds + " seconds");
     }
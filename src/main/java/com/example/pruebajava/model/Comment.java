@@ -1,20 +1,29 @@
 package com.example.pruebajava.model;
 
-public class Comment {
-    private Integer postId;
-    private Integer id;
-    private String name;
-    private String email;
-    private String body;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public final class Comment {
+    private final Integer postId;
+    private final Integer id;
+    private final String name;
+    private final String email;
+    private final String body;
+
+    @JsonCreator
+    public Comment(@JsonProperty("postId") Integer postId, @JsonProperty("id") Integer id,
+                   @JsonProperty("name") String name, @JsonProperty("email") String email,
+                   @JsonProperty("body") String body) {
+        this.postId = postId;
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.body = body;
+    }
 
     public Integer getPostId() { return postId; }
-    public void setPostId(Integer postId) { this.postId = postId; }
     public Integer getId() { return id; }
-    public void setId(Integer id) { this.id = id; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
     public String getBody() { return body; }
-    public void setBody(String body) { this.body = body; }
 }
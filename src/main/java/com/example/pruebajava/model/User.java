@@ -1,17 +1,25 @@
 package com.example.pruebajava.model;
 
-public class User {
-    private Integer id;
-    private String name;
-    private String username;
-    private String email;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public final class User {
+    private final Integer id;
+    private final String name;
+    private final String username;
+    private final String email;
+
+    @JsonCreator
+    public User(@JsonProperty("id") Integer id, @JsonProperty("name") String name,
+                @JsonProperty("username") String username, @JsonProperty("email") String email) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+    }
 
     public Integer getId() { return id; }
-    public void setId(Integer id) { this.id = id; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
     public String getUsername() { return username; }
-    public void setUsername(String username) { this.username = username; }
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
 }
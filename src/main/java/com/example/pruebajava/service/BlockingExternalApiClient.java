@@ -0,0 +1,75 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.exception.BulkheadFullException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+public class BlockingExternalApiClient implements ExternalApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(BlockingExternalApiClient.class);
+
+    private final ExternalApiService externalApi;
+    private final UpstreamExecutors executors;
+
+    public BlockingExternalApiClient(ExternalApiService externalApi, UpstreamExecutors executors) {
+        this.externalApi = externalApi;
+        this.executors = executors;
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return supplyAsync(externalApi::getPosts, executors.posts(), "JSONPlaceholder Posts API");
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return supplyAsync(() -> externalApi.getPost(postId), executors.posts(), "JSONPlaceholder Posts API");
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        return supplyAsync(externalApi::getComments, executors.comments(), "JSONPlaceholder Comments API");
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        return supplyAsync(() -> externalApi.getCommentsForPosts(postIds), executors.comments(), "JSONPlaceholder Comments API");
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return supplyAsync(() -> externalApi.getCommentsForPost(postId), executors.comments(), "JSONPlaceholder Comments API");
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return supplyAsync(() -> externalApi.getUser(userId), executors.users(), "JSONPlaceholder Users API");
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return supplyAsync(() -> {
+            externalApi.deletePost(postId);
+            return null;
+        }, executors.posts(), "JSONPlaceholder Delete API");
+    }
+
+    private static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor, String serviceName) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Executor for {} rejected the call: {}", serviceName, e.getMessage());
+            return CompletableFuture.failedFuture(BulkheadFullException.forService(serviceName));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.EntityCacheProperties;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+public class CachingExternalApiClient implements ExternalApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(CachingExternalApiClient.class);
+    private static final String ALL = "all";
+
+    private final ExternalApiClient delegate;
+    private final AsyncLoadingCache<String, List<Post>> postsCache;
+    private final AsyncLoadingCache<Integer, Post> postCache;
+    private final AsyncLoadingCache<Integer, User> usersCache;
+    private final AsyncLoadingCache<Integer, List<Comment>> commentsCache;
+    private volatile StringPool commentStrings = new StringPool(StringPool.DEFAULT_MAX_SIZE);
+
+    public CachingExternalApiClient(ExternalApiClient delegate, EntityCacheProperties properties) {
+        this.delegate = delegate;
+        this.postsCache = sized(properties.getPosts())
+            .buildAsync((key, executor) -> delegate.getPosts());
+        this.postCache = sized(properties.getPost())
+            .buildAsync((postId, executor) -> loadPost(postId));
+        this.usersCache = sized(properties.getUsers())
+            .buildAsync((userId, executor) -> delegate.getUser(userId));
+        if (properties.getComments().getRefreshAfterWrite() != null) {
+            logger.warn("Ignoring refresh-after-write for the comments cache: refreshes reload one post at a time");
+        }
+        this.commentsCache = weighted(properties.getComments())
+            .buildAsync(new CommentsLoader());
+    }
+
+    public Map<String, AsyncCache<?, ?>> caches() {
+        Map<String, AsyncCache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("upstream.posts", postsCache);
+        caches.put("upstream.post", postCache);
+        caches.put("upstream.users", usersCache);
+        caches.put("upstream.comments", commentsCache);
+        return caches;
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return postsCache.get(ALL);
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return postCache.get(postId);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        List<Comment> cached = cachedComments();
+        if (cached != null) {
+            logger.debug("Answered bulk comments from {} cached per-post entries", cached.size());
+            return CompletableFuture.completedFuture(cached);
+        }
+        return delegate.getComments().thenApply(this::populatePerPostEntries);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        return commentsCache.getAll(postIds).thenApply(commentsByPost -> {
+            List<Comment> comments = new ArrayList<>();
+            postIds.forEach(postId -> comments.addAll(commentsByPost.getOrDefault(postId, List.of())));
+            return comments;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return commentsCache.get(postId);
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return usersCache.get(userId);
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return delegate.deletePost(postId).thenRun(() -> {
+            postsCache.synchronous().asMap().computeIfPresent(ALL, (key, posts) -> posts.stream()
+                .filter(post -> !postId.equals(post.getId()))
+                .collect(Collectors.toList()));
+            postCache.synchronous().invalidate(postId);
+            commentsCache.synchronous().invalidate(postId);
+            logger.debug("Evicted cached entries for deleted post {}", postId);
+        });
+    }
+
+    /**
+     * A bulk load fills one entry per cached post, so while every post still has its entry the bulk answer can be
+     * rebuilt from them and a snapshot rebuild only downloads /comments again once those entries expire.
+     */
+    private List<Comment> cachedComments() {
+        List<Post> posts = completed(postsCache.getIfPresent(ALL));
+        if (posts == null) {
+            return null;
+        }
+        List<Comment> comments = new ArrayList<>();
+        for (Post post : posts) {
+            List<Comment> forPost = completed(commentsCache.asMap().get(post.getId()));
+            if (forPost == null) {
+                return null;
+            }
+            comments.addAll(forPost);
+        }
+        return comments;
+    }
+
+    private static <T> T completed(CompletableFuture<T> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private CompletableFuture<Post> loadPost(Integer postId) {
+        List<Post> allPosts = completed(postsCache.getIfPresent(ALL));
+        if (allPosts != null) {
+            Post cached = allPosts.stream()
+                .filter(post -> postId.equals(post.getId()))
+                .findFirst()
+                .orElse(null);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        return delegate.getPost(postId);
+    }
+
+    /**
+     * Pools commenter names and emails before the comments are cached, so the snapshot built from them shares the
+     * cached instances instead of holding deduplicated copies next to them. A bulk load replaces every cached
+     * comment, so it starts a fresh pool and strings of commenters that are gone stop being retained.
+     */
+    private List<Comment> populatePerPostEntries(List<Comment> loaded) {
+        StringPool strings = new StringPool(StringPool.DEFAULT_MAX_SIZE);
+        commentStrings = strings;
+        List<Comment> comments = strings.dedup(loaded);
+        Map<Integer, List<Comment>> commentsByPost = new LinkedHashMap<>();
+        List<Post> allPosts = completed(postsCache.getIfPresent(ALL));
+        if (allPosts != null) {
+            allPosts.forEach(post -> commentsByPost.put(post.getId(), List.of()));
+        }
+        commentsByPost.putAll(PostService.groupByPostId(comments));
+        commentsCache.synchronous().putAll(commentsByPost);
+        return comments;
+    }
+
+    private static Caffeine<Object, Object> sized(EntityCacheProperties.Spec spec) {
+        return expiring(spec).maximumSize(spec.getMaximumSize());
+    }
+
+    private static <K> Caffeine<K, List<Comment>> weighted(EntityCacheProperties.Spec spec) {
+        return expiring(spec, false)
+            .maximumWeight(spec.getMaximumWeight())
+            .weigher((K key, List<Comment> comments) -> Math.max(1, comments.size()));
+    }
+
+    private static Caffeine<Object, Object> expiring(EntityCacheProperties.Spec spec) {
+        return expiring(spec, true);
+    }
+
+    private static Caffeine<Object, Object> expiring(EntityCacheProperties.Spec spec, boolean refresh) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (refresh && spec.getRefreshAfterWrite() != null) {
+            builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+        }
+        return builder;
+    }
+
+    private class CommentsLoader implements AsyncCacheLoader<Integer, List<Comment>> {
+
+        @Override
+        public CompletableFuture<List<Comment>> asyncLoad(Integer postId, Executor executor) {
+            return delegate.getCommentsForPost(postId).thenApply(commentStrings::dedup);
+        }
+
+        @Override
+        public CompletableFuture<Map<Integer, List<Comment>>> asyncLoadAll(Iterable<? extends Integer> postIds,
+                                                                           Executor executor) {
+            List<Integer> missing = new ArrayList<>();
+            postIds.forEach(missing::add);
+            logger.debug("Loading comments for {} uncached posts", missing.size());
+            return delegate.getCommentsForPosts(missing).thenApply(comments -> {
+                Map<Integer, List<Comment>> commentsByPost = new LinkedHashMap<>();
+                missing.forEach(postId -> commentsByPost.put(postId, List.of()));
+                commentsByPost.putAll(PostService.groupByPostId(commentStrings.dedup(comments)));
+                return commentsByPost;
+            });
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.ResilienceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String name;
+    private final ResilienceProperties.CircuitBreaker properties;
+    private final Clock clock;
+    private final boolean[] outcomes;
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private Instant openedAt;
+    private int trialCalls;
+    private int trialSuccesses;
+
+    public CircuitBreaker(String name, ResilienceProperties.CircuitBreaker properties, Clock clock) {
+        this.name = name;
+        this.properties = properties;
+        this.clock = clock;
+        this.outcomes = new boolean[Math.max(1, properties.getSlidingWindowSize())];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(properties.getOpenDuration()))) {
+            transitionTo(State.HALF_OPEN);
+        }
+        switch (state) {
+            case OPEN:
+                return false;
+            case HALF_OPEN:
+                if (trialCalls >= properties.getHalfOpenCalls()) {
+                    return false;
+                }
+                trialCalls++;
+                return true;
+            case CLOSED:
+            default:
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= properties.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && trialCalls > 0) {
+            trialCalls--;
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (recorded >= properties.getMinimumCalls()
+                && failures * 100 >= properties.getFailureRateThreshold() * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State target) {
+        logger.warn("Circuit breaker '{}' transitioning from {} to {} ({} failures in last {} calls)",
+            name, state, target, failures, recorded);
+        state = target;
+        trialCalls = 0;
+        trialSuccesses = 0;
+        if (target == State.OPEN) {
+            openedAt = clock.instant();
+        }
+        if (target == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        }
+    }
+}
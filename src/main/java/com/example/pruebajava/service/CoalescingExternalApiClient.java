@@ -0,0 +1,73 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class CoalescingExternalApiClient implements ExternalApiClient, MeterBinder {
+    private static final String ALL = "all";
+
+    private final ExternalApiClient delegate;
+    private final SingleFlight<String, List<Post>> postsFlight = new SingleFlight<>("upstream.posts");
+    private final SingleFlight<Integer, Post> postFlight = new SingleFlight<>("upstream.post");
+    private final SingleFlight<String, List<Comment>> allCommentsFlight = new SingleFlight<>("upstream.comments.all");
+    private final SingleFlight<List<Integer>, List<Comment>> commentsBatchFlight = new SingleFlight<>("upstream.comments.batch");
+    private final SingleFlight<Integer, List<Comment>> commentsFlight = new SingleFlight<>("upstream.comments");
+    private final SingleFlight<Integer, User> usersFlight = new SingleFlight<>("upstream.users");
+
+    public CoalescingExternalApiClient(ExternalApiClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return postsFlight.execute(ALL, delegate::getPosts);
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return postFlight.execute(postId, () -> delegate.getPost(postId));
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        return allCommentsFlight.execute(ALL, delegate::getComments);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        List<Integer> key = List.copyOf(postIds);
+        return commentsBatchFlight.execute(key, () -> delegate.getCommentsForPosts(key));
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return commentsFlight.execute(postId, () -> delegate.getCommentsForPost(postId));
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return usersFlight.execute(userId, () -> delegate.getUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return delegate.deletePost(postId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        postsFlight.bindTo(registry);
+        postFlight.bindTo(registry);
+        allCommentsFlight.bindTo(registry);
+        commentsBatchFlight.bindTo(registry);
+        commentsFlight.bindTo(registry);
+        usersFlight.bindTo(registry);
+    }
+}
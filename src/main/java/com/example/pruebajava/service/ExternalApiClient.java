@@ -0,0 +1,26 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface ExternalApiClient {
+
+    CompletableFuture<List<Post>> getPosts();
+
+    CompletableFuture<Post> getPost(Integer postId);
+
+    CompletableFuture<List<Comment>> getComments();
+
+    CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds);
+
+    CompletableFuture<List<Comment>> getCommentsForPost(Integer postId);
+
+    CompletableFuture<User> getUser(Integer userId);
+
+    CompletableFuture<Void> deletePost(Integer postId);
+}
@@ -17,7 +17,9 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ExternalApiService {
@@ -55,6 +57,40 @@ public class ExternalApiService {
         }
     }
 
+    public Post getPost(Integer postId) {
+        String url = String.format(baseUrl + "/posts/%d", postId);
+        logger.debug("Fetching post {} from {}", postId, url);
+
+        try {
+            ResponseEntity<Post> response = restTemplate.getForEntity(url, Post.class);
+            Post post = response.getBody();
+            if (post == null || post.getId() == null) {
+                throw PostNotFoundException.forPostId(postId);
+            }
+            logger.debug("Successfully retrieved post {}", postId);
+            return post;
+        } catch (PostNotFoundException e) {
+            logger.warn("Post not found: {} (empty body)", postId);
+            throw e;
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                logger.warn("Post not found: {} (404)", postId);
+                throw PostNotFoundException.forPostId(postId);
+            }
+            logger.error("Client error fetching post {}: {} - {}", postId, e.getStatusCode(), e.getMessage());
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Posts API");
+        } catch (HttpServerErrorException e) {
+            logger.error("Server error fetching post {}: {} - {}", postId, e.getStatusCode(), e.getMessage());
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Posts API");
+        } catch (ResourceAccessException e) {
+            logger.error("Timeout fetching post {}: {}", postId, e.getMessage());
+            throw ExternalServiceException.timeout("JSONPlaceholder Posts API", 5);
+        } catch (Exception e) {
+            logger.error("Unexpected error fetching post {}: {}", postId, e.getMessage(), e);
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Posts API");
+        }
+    }
+
     public List<Comment> getCommentsForPost(Integer postId) {
         String url = String.format(baseUrl + "/posts/%d/comments", postId);
         logger.debug("Fetching comments for post {} from {}", postId, url);
@@ -83,6 +119,40 @@ public class ExternalApiService {
         }
     }
 
+    public List<Comment> getComments() {
+        return fetchComments(baseUrl + "/comments", "all posts");
+    }
+
+    public List<Comment> getCommentsForPosts(Collection<Integer> postIds) {
+        String query = postIds.stream()
+            .map(postId -> "postId=" + postId)
+            .collect(Collectors.joining("&"));
+        return fetchComments(baseUrl + "/comments?" + query, postIds.size() + " posts");
+    }
+
+    private List<Comment> fetchComments(String url, String scope) {
+        logger.debug("Fetching comments for {} from {}", scope, url);
+
+        try {
+            ResponseEntity<Comment[]> response = restTemplate.getForEntity(url, Comment[].class);
+            List<Comment> comments = Arrays.asList(response.getBody());
+            logger.debug("Successfully retrieved {} comments for {}", comments.size(), scope);
+            return comments;
+        } catch (HttpClientErrorException e) {
+            logger.error("Client error fetching comments for {}: {} - {}", scope, e.getStatusCode(), e.getMessage());
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Comments API");
+        } catch (HttpServerErrorException e) {
+            logger.error("Server error fetching comments for {}: {} - {}", scope, e.getStatusCode(), e.getMessage());
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Comments API");
+        } catch (ResourceAccessException e) {
+            logger.error("Timeout fetching comments for {}: {}", scope, e.getMessage());
+            throw ExternalServiceException.timeout("JSONPlaceholder Comments API", 5);
+        } catch (Exception e) {
+            logger.error("Unexpected error fetching comments for {}: {}", scope, e.getMessage(), e);
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Comments API");
+        }
+    }
+
     public User getUser(Integer userId) {
         String url = String.format(baseUrl + "/users/%d", userId);
         logger.debug("Fetching user {} from {}", userId, url);
@@ -0,0 +1,66 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.exception.ApiException;
+
+import java.util.List;
+
+public final class FetchPlan {
+    public static final FetchPlan ALL = new FetchPlan(true, true);
+    public static final FetchPlan USERS = new FetchPlan(true, false);
+    public static final FetchPlan COMMENTS = new FetchPlan(false, true);
+    public static final FetchPlan POSTS_ONLY = new FetchPlan(false, false);
+
+    private final boolean users;
+    private final boolean comments;
+
+    private FetchPlan(boolean users, boolean comments) {
+        this.users = users;
+        this.comments = comments;
+    }
+
+    public static FetchPlan of(boolean users, boolean comments) {
+        if (users) {
+            return comments ? ALL : USERS;
+        }
+        return comments ? COMMENTS : POSTS_ONLY;
+    }
+
+    public static List<FetchPlan> values() {
+        return List.of(ALL, USERS, COMMENTS, POSTS_ONLY);
+    }
+
+    public static FetchPlan parse(String expand) {
+        if (expand == null) {
+            return null;
+        }
+        boolean users = false;
+        boolean comments = false;
+        for (String token : expand.split(",")) {
+            String expansion = token.trim();
+            if (expansion.equals("user")) {
+                users = true;
+            } else if (expansion.equals("comments")) {
+                comments = true;
+            } else if (!expansion.isEmpty() && !expansion.equals("none")) {
+                throw new ApiException("Unknown expansion '" + expansion + "', expected user or comments");
+            }
+        }
+        return of(users, comments);
+    }
+
+    public boolean includesUsers() { return users; }
+    public boolean includesComments() { return comments; }
+    public boolean isComplete() { return users && comments; }
+
+    public String key() {
+        if (users) {
+            return comments ? "user,comments" : "user";
+        }
+        return comments ? "comments" : "none";
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
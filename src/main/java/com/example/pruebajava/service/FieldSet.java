@@ -0,0 +1,205 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.exception.ApiException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public final class FieldSet {
+
+    enum PostField { id, userId, title, body, user, comments }
+
+    enum UserField { id, name, username, email }
+
+    enum CommentField { postId, id, name, email, body }
+
+    private final Set<PostField> postFields = EnumSet.noneOf(PostField.class);
+    private final Set<UserField> userFields = EnumSet.noneOf(UserField.class);
+    private final Set<CommentField> commentFields = EnumSet.noneOf(CommentField.class);
+    private final String canonical;
+
+    private FieldSet(String fields) {
+        for (String path : fields.split(",")) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int dot = trimmed.indexOf('.');
+            PostField field = lookup(PostField.class, dot < 0 ? trimmed : trimmed.substring(0, dot), trimmed);
+            postFields.add(field);
+            if (dot < 0) {
+                if (field == PostField.user) {
+                    userFields.addAll(EnumSet.allOf(UserField.class));
+                } else if (field == PostField.comments) {
+                    commentFields.addAll(EnumSet.allOf(CommentField.class));
+                }
+            } else if (field == PostField.user) {
+                userFields.add(lookup(UserField.class, trimmed.substring(dot + 1), trimmed));
+            } else if (field == PostField.comments) {
+                commentFields.add(lookup(CommentField.class, trimmed.substring(dot + 1), trimmed));
+            } else {
+                throw new ApiException("Field '" + trimmed + "' has no nested fields");
+            }
+        }
+        if (postFields.isEmpty()) {
+            throw new ApiException("At least one field must be requested");
+        }
+        this.canonical = canonicalize();
+    }
+
+    public static FieldSet parse(String fields) {
+        return fields == null || fields.isBlank() ? null : new FieldSet(fields);
+    }
+
+    public static FieldSet forPlan(FetchPlan plan) {
+        if (plan.isComplete()) {
+            return null;
+        }
+        return new FieldSet("id,userId,title,body" + (plan.includesUsers() ? ",user" : "")
+            + (plan.includesComments() ? ",comments" : ""));
+    }
+
+    public String canonical() { return canonical; }
+    public boolean includesUser() { return postFields.contains(PostField.user); }
+    public boolean includesComments() { return postFields.contains(PostField.comments); }
+
+    public byte[] write(ObjectMapper objectMapper, List<MergedPost> posts) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(256, posts.size() * 64));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartArray();
+            for (MergedPost post : posts) {
+                write(generator, post);
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize merged posts with fields " + canonical, e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public byte[] write(ObjectMapper objectMapper, MergedPost post) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try {
+            write(objectMapper, post, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize merged post " + post.getId() + " with fields " + canonical, e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public void write(ObjectMapper objectMapper, MergedPost post, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            write(generator, post);
+        }
+    }
+
+    private void write(JsonGenerator generator, MergedPost post) throws IOException {
+        generator.writeStartObject();
+        for (PostField field : postFields) {
+            switch (field) {
+                case id: writeNumber(generator, "id", post.getId()); break;
+                case userId: writeNumber(generator, "userId", post.getUserId()); break;
+                case title: generator.writeStringField("title", post.getTitle()); break;
+                case body: generator.writeStringField("body", post.getBody()); break;
+                case user: writeUser(generator, post.getUser()); break;
+                case comments: writeComments(generator, post.getComments()); break;
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeUser(JsonGenerator generator, User user) throws IOException {
+        generator.writeFieldName("user");
+        if (user == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        for (UserField field : userFields) {
+            switch (field) {
+                case id: writeNumber(generator, "id", user.getId()); break;
+                case name: generator.writeStringField("name", user.getName()); break;
+                case username: generator.writeStringField("username", user.getUsername()); break;
+                case email: generator.writeStringField("email", user.getEmail()); break;
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeComments(JsonGenerator generator, List<Comment> comments) throws IOException {
+        generator.writeArrayFieldStart("comments");
+        for (Comment comment : comments) {
+            generator.writeStartObject();
+            for (CommentField field : commentFields) {
+                switch (field) {
+                    case postId: writeNumber(generator, "postId", comment.getPostId()); break;
+                    case id: writeNumber(generator, "id", comment.getId()); break;
+                    case name: generator.writeStringField("name", comment.getName()); break;
+                    case email: generator.writeStringField("email", comment.getEmail()); break;
+                    case body: generator.writeStringField("body", comment.getBody()); break;
+                }
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Integer value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private String canonicalize() {
+        List<String> paths = new ArrayList<>();
+        for (PostField field : postFields) {
+            if (field == PostField.user && userFields.size() < UserField.values().length) {
+                userFields.forEach(nested -> paths.add("user." + nested));
+            } else if (field == PostField.comments && commentFields.size() < CommentField.values().length) {
+                commentFields.forEach(nested -> paths.add("comments." + nested));
+            } else {
+                paths.add(field.name());
+            }
+        }
+        return String.join(",", paths);
+    }
+
+    private static <E extends Enum<E>> E lookup(Class<E> type, String name, String path) {
+        for (E candidate : type.getEnumConstants()) {
+            if (candidate.name().equals(name)) {
+                return candidate;
+            }
+        }
+        throw new ApiException("Unknown field '" + path + "' in fields parameter");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FieldSet && canonical.equals(((FieldSet) other).canonical);
+    }
+
+    @Override
+    public int hashCode() {
+        return canonical.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return canonical;
+    }
+}
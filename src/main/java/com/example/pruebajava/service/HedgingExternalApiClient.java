@@ -0,0 +1,156 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.HedgingProperties;
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class HedgingExternalApiClient implements ExternalApiClient, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(HedgingExternalApiClient.class);
+    private static final int LATENCY_SAMPLES = 512;
+
+    private final ExternalApiClient delegate;
+    private final UpstreamExecutors executors;
+    private final HedgingProperties properties;
+    private final RetryBudget hedgeBudget;
+    private final LatencyTracker postLatency;
+    private final LatencyTracker usersLatency;
+    private final LatencyTracker commentsLatency;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final AtomicLong denied = new AtomicLong();
+
+    public HedgingExternalApiClient(ExternalApiClient delegate, HedgingProperties properties, UpstreamExecutors executors) {
+        this.delegate = delegate;
+        this.executors = executors;
+        this.properties = properties;
+        this.hedgeBudget = new RetryBudget(properties.getBudgetRatio(), properties.getBudgetMaxTokens());
+        this.postLatency = new LatencyTracker(LATENCY_SAMPLES, properties.getDelayPercentile());
+        this.usersLatency = new LatencyTracker(LATENCY_SAMPLES, properties.getDelayPercentile());
+        this.commentsLatency = new LatencyTracker(LATENCY_SAMPLES, properties.getDelayPercentile());
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return delegate.getPosts();
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return hedged(postLatency, executors.posts(), () -> delegate.getPost(postId));
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        return delegate.getComments();
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        return hedged(commentsLatency, executors.comments(), () -> delegate.getCommentsForPosts(postIds));
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return hedged(commentsLatency, executors.comments(), () -> delegate.getCommentsForPost(postId));
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return hedged(usersLatency, executors.users(), () -> delegate.getUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return delegate.deletePost(postId);
+    }
+
+    long hedgeDelayMillis(LatencyTracker tracker) {
+        if (tracker.sampleCount() < properties.getMinSamples()) {
+            return properties.getInitialDelay().toMillis();
+        }
+        long percentileMillis = TimeUnit.NANOSECONDS.toMillis(tracker.percentileNanos());
+        return Math.max(properties.getMinDelay().toMillis(), percentileMillis);
+    }
+
+    private <T> CompletableFuture<T> hedged(LatencyTracker tracker, Executor executor, Supplier<CompletableFuture<T>> call) {
+        hedgeBudget.onRequest();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        long start = System.nanoTime();
+
+        call.get().whenComplete((value, error) -> {
+            if (error == null) {
+                tracker.record(System.nanoTime() - start);
+            }
+            settle(result, outstanding, value, error, false);
+        });
+
+        long delay = hedgeDelayMillis(tracker);
+        Runnable hedge = () -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!hedgeBudget.tryAcquireRetry()) {
+                denied.incrementAndGet();
+                return;
+            }
+            outstanding.incrementAndGet();
+            sent.incrementAndGet();
+            logger.debug("Sending hedged request after {} ms without a response", delay);
+            call.get().whenComplete((value, error) -> settle(result, outstanding, value, error, true));
+        };
+        // The delay scheduler thread only fires the timer; the hedge itself runs on the bulkhead executor.
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            try {
+                executor.execute(hedge);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Skipping hedged request, executor rejected it: {}", e.getMessage());
+            }
+        });
+        return result;
+    }
+
+    private <T> void settle(CompletableFuture<T> result, AtomicInteger outstanding, T value, Throwable error,
+                            boolean hedge) {
+        if (error == null) {
+            if (result.complete(value) && hedge) {
+                won.incrementAndGet();
+            }
+        } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("upstream.hedges", sent, AtomicLong::get)
+            .description("Duplicate requests sent after the hedge delay")
+            .tag("outcome", "sent")
+            .register(registry);
+        FunctionCounter.builder("upstream.hedges", won, AtomicLong::get)
+            .description("Hedged requests that answered before the original")
+            .tag("outcome", "won")
+            .register(registry);
+        FunctionCounter.builder("upstream.hedges", denied, AtomicLong::get)
+            .description("Hedges skipped because the hedge budget was exhausted")
+            .tag("outcome", "budget-exhausted")
+            .register(registry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.pruebajava.service;
+
+import java.util.Arrays;
+
+/**
+ * Maps int ids to int values. Uses a dense array only while ids are non-negative and at most a few times the
+ * number of entries; otherwise falls back to sorted keys with binary search, so memory follows the entry count.
+ */
+final class IdLookup {
+    static final int MISSING = -1;
+    private static final int MIN_DENSE_LENGTH = 64;
+    private static final int MAX_DENSE_FACTOR = 4;
+
+    private final int[] dense;
+    private final int[] keys;
+    private final int[] values;
+
+    private IdLookup(int[] dense, int[] keys, int[] values) {
+        this.dense = dense;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    static IdLookup of(int[] ids, int[] values) {
+        long max = -1;
+        boolean nonNegative = true;
+        for (int id : ids) {
+            nonNegative &= id >= 0;
+            max = Math.max(max, id);
+        }
+        if (nonNegative && max < Math.max(MIN_DENSE_LENGTH, (long) ids.length * MAX_DENSE_FACTOR)) {
+            int[] dense = new int[(int) max + 1];
+            for (int i = 0; i < ids.length; i++) {
+                dense[ids[i]] = values[i] + 1;
+            }
+            return new IdLookup(dense, null, null);
+        }
+        long[] packed = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            packed[i] = ((long) ids[i] << 32) | (values[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        int[] keys = new int[packed.length];
+        int[] sortedValues = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            keys[i] = (int) (packed[i] >> 32);
+            sortedValues[i] = (int) packed[i];
+        }
+        return new IdLookup(null, keys, sortedValues);
+    }
+
+    static IdLookup ofPositions(int[] ids) {
+        int[] positions = new int[ids.length];
+        Arrays.setAll(positions, position -> position);
+        return of(ids, positions);
+    }
+
+    int get(int id) {
+        if (dense != null) {
+            return id >= 0 && id < dense.length ? dense[id] - 1 : MISSING;
+        }
+        int index = Arrays.binarySearch(keys, id);
+        return index >= 0 ? values[index] : MISSING;
+    }
+
+    boolean isDense() {
+        return dense != null;
+    }
+}
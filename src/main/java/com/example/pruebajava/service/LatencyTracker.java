@@ -0,0 +1,44 @@
+package com.example.pruebajava.service;
+
+import java.util.Arrays;
+
+public class LatencyTracker {
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private long cachedPercentileNanos = -1;
+
+    public LatencyTracker(int capacity, double percentile) {
+        this.samples = new long[capacity];
+        this.percentile = percentile;
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        sinceRecompute++;
+    }
+
+    public synchronized int sampleCount() {
+        return count;
+    }
+
+    public synchronized long percentileNanos() {
+        if (count == 0) {
+            return -1;
+        }
+        if (cachedPercentileNanos < 0 || sinceRecompute >= RECOMPUTE_EVERY) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            cachedPercentileNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+            sinceRecompute = 0;
+        }
+        return cachedPercentileNanos;
+    }
+}
@@ -1,117 +1,529 @@
 package com.example.pruebajava.service;
 
+import com.example.pruebajava.config.CommentsProperties;
+import com.example.pruebajava.config.EntityCacheProperties;
+import com.example.pruebajava.config.SnapshotProperties;
 import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.dto.PostsPage;
+import com.example.pruebajava.exception.ApiException;
 import com.example.pruebajava.exception.PostNotFoundException;
 import com.example.pruebajava.exception.UserNotFoundException;
 import com.example.pruebajava.model.Comment;
 import com.example.pruebajava.model.Post;
 import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    static final String POST_PAGES = "postPages";
 
-    private final ExternalApiService externalApi;
+    private final ExternalApiClient externalApi;
+    private final CommentsProperties commentsProperties;
+    private final SnapshotProperties snapshotProperties;
+    private final Clock clock;
+    private final ObjectMapper objectMapper;
+    private final PostsSnapshotStore snapshotStore;
+    private final CacheManager cacheManager;
+    private final AtomicReference<PostsSnapshot> snapshot = new AtomicReference<>();
+    private final ConcurrentMap<FetchPlan, PostsSnapshot> partialSnapshots = new ConcurrentHashMap<>();
+    private final SingleFlight<String, PostsSnapshot> snapshotFlight = new SingleFlight<>("posts.snapshot");
+    private final Cache<String, MergedPost> mergedPosts;
+    private final Duration mergedTtl;
+    private final MeterRegistry meterRegistry;
+    private final Timer fetchPostsTimer;
+    private final Timer fetchUsersTimer;
+    private final Timer fetchCommentsTimer;
+    private final Timer assembleTimer;
+    private final Timer snapshotBuildTimer;
 
-    public PostService(ExternalApiService externalApi) {
+    public PostService(ExternalApiClient externalApi, CommentsProperties commentsProperties,
+                       SnapshotProperties snapshotProperties, EntityCacheProperties cacheProperties, Clock clock,
+                       ObjectMapper objectMapper, PostsSnapshotStore snapshotStore, CacheManager cacheManager,
+                       MeterRegistry meterRegistry) {
         this.externalApi = externalApi;
+        this.commentsProperties = commentsProperties;
+        this.snapshotProperties = snapshotProperties;
+        this.clock = clock;
+        this.objectMapper = objectMapper;
+        this.snapshotStore = snapshotStore;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.fetchPostsTimer = phaseTimer("fetch-posts", meterRegistry);
+        this.fetchUsersTimer = phaseTimer("fetch-users", meterRegistry);
+        this.fetchCommentsTimer = phaseTimer("fetch-comments", meterRegistry);
+        this.assembleTimer = phaseTimer("assemble", meterRegistry);
+        this.snapshotBuildTimer = Timer.builder("posts.snapshot.build")
+            .description("Time to fetch, merge, serialize and persist the merged posts snapshot")
+            .register(meterRegistry);
+        snapshotFlight.bindTo(meterRegistry);
+        EntityCacheProperties.Spec merged = cacheProperties.getMerged();
+        if (merged.getRefreshAfterWrite() != null) {
+            logger.warn("Ignoring refresh-after-write for merged posts: they are rebuilt on demand, not reloaded");
+        }
+        this.mergedTtl = merged.getExpireAfterWrite();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(merged.getMaximumSize()).recordStats();
+        if (mergedTtl != null) {
+            builder.expireAfterWrite(mergedTtl);
+        }
+        this.mergedPosts = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, mergedPosts, "posts.merged");
+    }
+
+    private static Timer phaseTimer(String phase, MeterRegistry meterRegistry) {
+        return Timer.builder("posts.merge.phase")
+            .description("Time spent in each phase of merging posts with users and comments")
+            .tag("phase", phase)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
-    @Cacheable("posts")
     public List<MergedPost> getAllMergedPosts() {
-        logger.info("Building merged posts list with concurrent processing");
-        
-        List<Post> posts = externalApi.getPosts();
+        return getSnapshot().getPosts();
+    }
+
+    public PostsSnapshot getSnapshot() {
+        PostsSnapshot current = snapshot.get();
+        if (isServable(current)) {
+            return current;
+        }
+        if (current != null) {
+            logger.warn("Merged posts snapshot built at {} exceeds max stale age of {}, rebuilding synchronously",
+                current.getBuiltAt(), snapshotProperties.getMaxStaleAge());
+        }
+        return rebuildSnapshot();
+    }
+
+    public PostsSnapshot getSnapshot(FetchPlan plan) {
+        if (plan.isComplete()) {
+            return getSnapshot();
+        }
+        PostsSnapshot complete = snapshot.get();
+        if (isServable(complete)) {
+            return complete;
+        }
+        PostsSnapshot partial = partialSnapshots.get(plan);
+        if (isFresh(partial)) {
+            return partial;
+        }
+        return join(snapshotFlight.execute(plan.key(),
+            () -> CompletableFuture.completedFuture(snapshotBuildTimer.record(() -> buildPartialSnapshot(plan)))));
+    }
+
+    public MergedPost getMergedPost(Integer id, FetchPlan plan) {
+        PostsSnapshot current = snapshot.get();
+        if (!isServable(current) && !plan.isComplete()) {
+            PostsSnapshot partial = partialSnapshots.get(plan);
+            current = isFresh(partial) ? partial : null;
+        }
+        if (isServable(current)) {
+            return current.findPost(id).orElseThrow(() -> PostNotFoundException.forPostId(id));
+        }
+
+        return mergedPosts.get(mergedPostKey(id, plan), key -> {
+            logger.info("No snapshot available, fetching post {} with expansion {} by id", id, plan);
+            Post post = join(timed(fetchPostsTimer, () -> externalApi.getPost(id)));
+            return mergePosts(List.of(post), CommentsProperties.FetchMode.PER_POST, new HashMap<>(), plan).get(0);
+        });
+    }
+
+    private static String mergedPostKey(Integer id, FetchPlan plan) {
+        return id + ":" + plan.key();
+    }
+
+    public List<MergedPost> getPostsByUser(int userId, FetchPlan plan) {
+        List<MergedPost> posts = getSnapshot(plan).postsByUser(userId);
+        logger.info("Found {} posts for user {} in snapshot index", posts.size(), userId);
+        return posts;
+    }
+
+    public List<MergedPost> searchPosts(String query, int limit) {
+        List<MergedPost> posts = getSnapshot().search(query, limit);
+        logger.info("Found {} posts matching '{}' in snapshot index", posts.size(), query);
+        return posts;
+    }
+
+    public void refreshSnapshot() {
+        try {
+            rebuildSnapshot();
+        } catch (RuntimeException e) {
+            PostsSnapshot current = snapshot.get();
+            logger.warn("Background refresh of merged posts failed, keeping snapshot built at {}: {}",
+                current != null ? current.getBuiltAt() : "never", e.getMessage());
+        }
+    }
+
+    public void restoreSnapshot() {
+        snapshotStore.load().ifPresent(restored -> {
+            if (!isServable(restored)) {
+                logger.warn("Persisted merged posts snapshot built at {} exceeds max stale age of {}, ignoring it",
+                    restored.getBuiltAt(), snapshotProperties.getMaxStaleAge());
+            } else if (snapshot.compareAndSet(null, restored)) {
+                logger.info("Serving persisted snapshot of {} merged posts built at {} until the next refresh",
+                    restored.getPosts().size(), restored.getBuiltAt());
+            }
+        });
+    }
+
+    public boolean hasServableSnapshot() {
+        return isServable(snapshot.get());
+    }
+
+    private boolean isServable(PostsSnapshot current) {
+        return current != null && current.age(clock).compareTo(snapshotProperties.getMaxStaleAge()) <= 0;
+    }
+
+    private boolean isFresh(PostsSnapshot partial) {
+        return partial != null && (mergedTtl == null || partial.age(clock).compareTo(mergedTtl) <= 0);
+    }
+
+    public PostsSnapshot rebuildSnapshot() {
+        return join(snapshotFlight.execute(FetchPlan.ALL.key(),
+            () -> CompletableFuture.completedFuture(snapshotBuildTimer.record(this::buildSnapshot))));
+    }
+
+    private PostsSnapshot buildSnapshot() {
+        logger.info("Building merged posts snapshot with concurrent processing");
+        long start = System.nanoTime();
+
+        List<Post> posts = fetchPosts();
         logger.debug("Retrieved {} posts from external API", posts.size());
 
-        List<Integer> userIds = posts.stream()
+        List<MergedPost> merged = mergePosts(posts, commentsProperties.getFetchMode(), new HashMap<>(), FetchPlan.ALL,
+            new StringPool(StringPool.DEFAULT_MAX_SIZE));
+        PostsSnapshot previous = snapshot.get();
+        PostsIndex index = PostsIndex.build(merged, previous != null ? previous.builtIndex() : null);
+        PostsSnapshot built = snapshotOf(merged, clock.instant(), index);
+        String etag = built.getETag();
+        snapshot.set(built);
+        snapshotStore.save(built);
+
+        logger.info("Successfully built snapshot of {} merged posts (etag {}, {} posts re-indexed) in {} ms",
+            merged.size(), etag, merged.size() - index.reusedDocuments(),
+            Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return built;
+    }
+
+    private PostsSnapshot buildPartialSnapshot(FetchPlan plan) {
+        logger.info("Building merged posts snapshot with expansion {}", plan);
+        List<Post> posts = fetchPosts();
+        List<MergedPost> merged = mergePosts(posts, commentsProperties.getFetchMode(), new HashMap<>(), plan);
+        FieldSet shape = FieldSet.forPlan(plan);
+        PostsSnapshot built = new PostsSnapshot(merged, clock.instant(), shape.write(objectMapper, merged), shape);
+        partialSnapshots.put(plan, built);
+        logger.info("Successfully built snapshot of {} posts with expansion {}", merged.size(), plan);
+        return built;
+    }
+
+    private PostsSnapshot partialSnapshotOf(List<MergedPost> merged, Instant builtAt, FieldSet shape,
+                                            PostsIndex index) {
+        return new PostsSnapshot(merged, builtAt, () -> shape.write(objectMapper, merged), shape, index);
+    }
+
+    private PostsSnapshot snapshotOf(List<MergedPost> merged, Instant builtAt, PostsIndex index) {
+        return new PostsSnapshot(merged, builtAt, () -> {
+            try {
+                return objectMapper.writeValueAsBytes(merged);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException("Could not serialize merged posts snapshot", e);
+            }
+        }, null, index);
+    }
+
+    @Cacheable(value = POST_PAGES, sync = true, key = "(#cursor ?: '') + ':' + #limit + ':' + #plan.key()")
+    public PostsPage getMergedPostsPage(String cursor, int limit, FetchPlan plan) {
+        int afterId = decodeCursor(cursor);
+        logger.info("Building merged posts page after post {} with limit {} and expansion {}", afterId, limit, plan);
+
+        List<Post> candidates = fetchPosts().stream()
+            .filter(post -> post.getId() > afterId)
+            .sorted(Comparator.comparing(Post::getId))
+            .limit(limit + 1L)
+            .collect(Collectors.toList());
+
+        boolean hasNext = candidates.size() > limit;
+        List<Post> pagePosts = hasNext ? candidates.subList(0, limit) : candidates;
+
+        List<MergedPost> items = mergePosts(pagePosts, pageFetchMode(), new HashMap<>(), plan);
+
+        String nextCursor = hasNext ? encodeCursor(pagePosts.get(pagePosts.size() - 1).getId()) : null;
+        logger.info("Successfully built page of {} merged posts (next cursor: {})", items.size(), nextCursor);
+        return new PostsPage(items, nextCursor);
+    }
+
+    public void streamMergedPosts(FetchPlan plan, Consumer<List<MergedPost>> chunkConsumer) {
+        logger.info("Streaming merged posts in chunks of {}", commentsProperties.getBatchSize());
+
+        int chunkSize = Math.max(1, commentsProperties.getBatchSize());
+        PostsSnapshot current = snapshot.get();
+        if (isServable(current)) {
+            List<MergedPost> merged = current.getPosts();
+            for (int from = 0; from < merged.size(); from += chunkSize) {
+                chunkConsumer.accept(merged.subList(from, Math.min(from + chunkSize, merged.size())));
+            }
+            logger.info("Successfully streamed {} merged posts from snapshot built at {}", merged.size(), current.getBuiltAt());
+            return;
+        }
+
+        List<Post> posts = fetchPosts();
+        Map<Integer, User> knownUsers = new HashMap<>();
+        int streamed = 0;
+        for (int from = 0; from < posts.size(); from += chunkSize) {
+            List<Post> chunk = posts.subList(from, Math.min(from + chunkSize, posts.size()));
+            List<MergedPost> merged = mergePosts(chunk, pageFetchMode(), knownUsers, plan);
+            chunkConsumer.accept(merged);
+            streamed += merged.size();
+        }
+
+        logger.info("Successfully streamed {} merged posts", streamed);
+    }
+
+    private CommentsProperties.FetchMode pageFetchMode() {
+        return commentsProperties.getFetchMode() == CommentsProperties.FetchMode.BULK
+            ? CommentsProperties.FetchMode.BATCHED
+            : commentsProperties.getFetchMode();
+    }
+
+    private List<MergedPost> mergePosts(List<Post> posts, CommentsProperties.FetchMode fetchMode,
+                                        Map<Integer, User> usersMap, FetchPlan plan) {
+        return mergePosts(posts, fetchMode, usersMap, plan, null);
+    }
+
+    private List<MergedPost> mergePosts(List<Post> posts, CommentsProperties.FetchMode fetchMode,
+                                        Map<Integer, User> usersMap, FetchPlan plan, StringPool strings) {
+        List<Integer> missingUserIds = posts.stream()
             .map(Post::getUserId)
             .distinct()
+            .filter(userId -> !usersMap.containsKey(userId))
+            .collect(Collectors.toList());
+
+        List<Integer> postIds = posts.stream()
+            .map(Post::getId)
             .collect(Collectors.toList());
 
-        Map<Integer, User> usersMap = fetchUsersConcurrently(userIds);
-        logger.debug("Retrieved {} unique users", usersMap.size());
-        List<MergedPost> merged = posts.parallelStream().map(post -> {
-            MergedPost mergedPost = new MergedPost();
-            mergedPost.setId(post.getId());
-            mergedPost.setUserId(post.getUserId());
-            mergedPost.setTitle(post.getTitle());
-            mergedPost.setBody(post.getBody());
+        CompletableFuture<Map<Integer, User>> usersFuture = plan.includesUsers()
+            ? timed(fetchUsersTimer, () -> fetchUsersAsync(missingUserIds))
+            : CompletableFuture.completedFuture(Map.of());
+        CompletableFuture<Map<Integer, List<Comment>>> commentsFuture = plan.includesComments()
+            ? timed(fetchCommentsTimer, () -> fetchCommentsAsync(postIds, fetchMode))
+            : CompletableFuture.completedFuture(Map.of());
+
+        return join(usersFuture.thenCombine(commentsFuture, (fetchedUsers, commentsByPost) -> {
+            logger.debug("Retrieved {} unique users", fetchedUsers.size());
+            logger.debug("Retrieved comments for {} posts using {} mode", commentsByPost.size(), fetchMode);
+            usersMap.putAll(fetchedUsers);
+            return assembleTimer.record(() -> assemble(posts, usersMap, commentsByPost, plan, strings));
+        }));
+    }
+
+    static List<MergedPost> assemble(List<Post> posts, Map<Integer, User> usersMap,
+                              Map<Integer, List<Comment>> commentsByPost) {
+        return assemble(posts, usersMap, commentsByPost, FetchPlan.ALL);
+    }
 
+    static List<MergedPost> assemble(List<Post> posts, Map<Integer, User> usersMap,
+                              Map<Integer, List<Comment>> commentsByPost, FetchPlan plan) {
+        return assemble(posts, usersMap, commentsByPost, plan, null);
+    }
+
+    static List<MergedPost> assemble(List<Post> posts, Map<Integer, User> usersMap,
+                              Map<Integer, List<Comment>> commentsByPost, FetchPlan plan, StringPool strings) {
+        return posts.stream().map(post -> {
             User user = usersMap.get(post.getUserId());
-            if (user != null) {
-                mergedPost.setUser(user);
-            } else {
+            if (user == null && plan.includesUsers()) {
                 logger.warn("User not found for post {} with userId {}", post.getId(), post.getUserId());
                 throw new UserNotFoundException("User not found with ID: " + post.getUserId());
             }
-            try {
-                List<Comment> comments = externalApi.getCommentsForPost(post.getId());
-                mergedPost.setComments(comments);
-                logger.debug("Retrieved {} comments for post {}", comments.size(), post.getId());
-            } catch (Exception e) {
-                logger.warn("Could not retrieve comments for post {}: {}", post.getId(), e.getMessage());
-                mergedPost.setComments(new ArrayList<>());
+            List<Comment> comments = commentsByPost.getOrDefault(post.getId(), List.of());
+            if (strings != null) {
+                comments = comments.stream().map(strings::dedup).collect(Collectors.toList());
             }
-
-            return mergedPost;
+            return new MergedPost(post.getId(), post.getUserId(), post.getTitle(), post.getBody(), user, comments);
         }).collect(Collectors.toList());
+    }
+
+    static String encodeCursor(Integer lastPostId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.valueOf(lastPostId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Integer.parseInt(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private CompletableFuture<Map<Integer, List<Comment>>> fetchCommentsAsync(List<Integer> postIds,
+                                                                         CommentsProperties.FetchMode fetchMode) {
+        switch (fetchMode) {
+            case PER_POST:
+                return fetchCommentsPerPost(postIds);
+            case BATCHED:
+                return fetchCommentsBatched(postIds);
+            case BULK:
+            default:
+                return fetchCommentsBulk(postIds);
+        }
+    }
 
-        logger.info("Successfully built {} merged posts with concurrent processing", merged.size());
-        return merged;
+    private CompletableFuture<Map<Integer, List<Comment>>> fetchCommentsBulk(List<Integer> postIds) {
+        return externalApi.getComments()
+            .thenApply(PostService::groupByPostId)
+            .exceptionally(e -> {
+                logger.warn("Could not retrieve comments in bulk for {} posts: {}", postIds.size(), unwrap(e).getMessage());
+                return Collections.emptyMap();
+            });
     }
 
-    private Map<Integer, User> fetchUsersConcurrently(List<Integer> userIds) {
+    private CompletableFuture<Map<Integer, List<Comment>>> fetchCommentsBatched(List<Integer> postIds) {
+        int batchSize = Math.max(1, commentsProperties.getBatchSize());
+        List<CompletableFuture<Map<Integer, List<Comment>>>> futures = new ArrayList<>();
+        for (int from = 0; from < postIds.size(); from += batchSize) {
+            List<Integer> batch = postIds.subList(from, Math.min(from + batchSize, postIds.size()));
+            futures.add(externalApi.getCommentsForPosts(batch)
+                .thenApply(PostService::groupByPostId)
+                .exceptionally(e -> {
+                    logger.warn("Could not retrieve comments for batch of {} posts starting at post {}: {}",
+                        batch.size(), batch.get(0), unwrap(e).getMessage());
+                    return Collections.emptyMap();
+                }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(done -> {
+                Map<Integer, List<Comment>> commentsByPost = new HashMap<>();
+                futures.forEach(future -> commentsByPost.putAll(future.join()));
+                return commentsByPost;
+            });
+    }
+
+    private CompletableFuture<Map<Integer, List<Comment>>> fetchCommentsPerPost(List<Integer> postIds) {
+        Map<Integer, CompletableFuture<List<Comment>>> futures = new LinkedHashMap<>();
+        for (Integer postId : postIds) {
+            futures.put(postId, externalApi.getCommentsForPost(postId)
+                .exceptionally(e -> {
+                    logger.warn("Could not retrieve comments for post {}: {}", postId, unwrap(e).getMessage());
+                    return List.of();
+                }));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .thenApply(done -> {
+                Map<Integer, List<Comment>> commentsByPost = new HashMap<>();
+                futures.forEach((postId, future) -> commentsByPost.put(postId, future.join()));
+                return commentsByPost;
+            });
+    }
+
+    static Map<Integer, List<Comment>> groupByPostId(List<Comment> comments) {
+        Map<Integer, List<Comment>> commentsByPost = new HashMap<>();
+        for (Comment comment : comments) {
+            commentsByPost.computeIfAbsent(comment.getPostId(), postId -> new ArrayList<>()).add(comment);
+        }
+        commentsByPost.replaceAll((postId, postComments) -> List.copyOf(postComments));
+        return commentsByPost;
+    }
+
+    private CompletableFuture<Map<Integer, User>> fetchUsersAsync(List<Integer> userIds) {
         List<CompletableFuture<User>> futures = userIds.stream()
-            .map(userId -> CompletableFuture.supplyAsync(() -> {
-                try {
-                    return externalApi.getUser(userId);
-                } catch (Exception e) {
-                    logger.error("Error fetching user {}: {}", userId, e.getMessage());
-                    throw new UserNotFoundException("User not found with ID: " + userId, e);
-                }
-            }, executorService))
+            .map(userId -> externalApi.getUser(userId)
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    logger.error("Error fetching user {}: {}", userId, cause.getMessage());
+                    throw new UserNotFoundException("User not found with ID: " + userId, cause);
+                }))
             .collect(Collectors.toList());
 
-        CompletableFuture<Void> allOf = CompletableFuture.allOf(
-            futures.toArray(new CompletableFuture[0])
-        );
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(done -> futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toMap(User::getId, user -> user)));
+    }
+
+    private List<Post> fetchPosts() {
+        return join(timed(fetchPostsTimer, externalApi::getPosts));
+    }
 
+    private <T> CompletableFuture<T> timed(Timer timer, Supplier<CompletableFuture<T>> phase) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return phase.get().whenComplete((result, error) -> sample.stop(timer));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
         try {
-            allOf.get();
-            
-            return futures.stream()
-                .map(CompletableFuture::join)
-                .collect(Collectors.toMap(User::getId, user -> user));
-        } catch (Exception e) {
-            logger.error("Error in concurrent user fetching: {}", e.getMessage());
-            if (e.getCause() instanceof UserNotFoundException) {
-                throw (UserNotFoundException) e.getCause();
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-            throw new RuntimeException("Failed to fetch users concurrently", e);
+            throw e;
         }
     }
 
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    }
+
     public void deletePost(Integer id) {
         logger.info("Attempting to delete post with ID: {}", id);
         
         try {
             validatePostExists(id);
             
-            externalApi.deletePost(id);
+            join(externalApi.deletePost(id));
+            snapshot.updateAndGet(current -> current != null && current.containsPost(id)
+                ? snapshotOf(current.postsWithout(id), current.getBuiltAt(), current.indexWithout(id))
+                : current);
+            FetchPlan.values().forEach(plan -> {
+                partialSnapshots.computeIfPresent(plan, (key, partial) -> partial.containsPost(id)
+                    ? partialSnapshotOf(partial.postsWithout(id), partial.getBuiltAt(), partial.getShape(),
+                        partial.indexWithout(id))
+                    : partial);
+                mergedPosts.invalidate(mergedPostKey(id, plan));
+            });
+            evictPagesContaining(id);
             logger.info("Successfully deleted post with ID: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting post {}: {}", id, e.getMessage());
@@ -119,9 +531,39 @@ public class PostService {
         }
     }
 
+    /**
+     * Pages are keyed by the id they start after, so only the pages that list the deleted post change;
+     * the pages before and after it stay valid.
+     */
+    @SuppressWarnings("unchecked")
+    private void evictPagesContaining(Integer id) {
+        org.springframework.cache.Cache pages = cacheManager.getCache(POST_PAGES);
+        if (pages == null) {
+            return;
+        }
+        Object store = pages.getNativeCache();
+        Map<Object, Object> entries = store instanceof Cache ? ((Cache<Object, Object>) store).asMap()
+            : store instanceof ConcurrentMap ? (ConcurrentMap<Object, Object>) store
+            : null;
+        if (entries == null) {
+            pages.clear();
+            return;
+        }
+        entries.values().removeIf(page -> page instanceof PostsPage && ((PostsPage) page).getItems().stream()
+            .anyMatch(post -> id.equals(post.getId())));
+    }
+
     private void validatePostExists(Integer postId) {
+        PostsSnapshot current = snapshot.get();
+        if (isServable(current)) {
+            if (!current.containsPost(postId)) {
+                throw new PostNotFoundException("Post not found with ID: " + postId);
+            }
+            return;
+        }
+
         try {
-            List<Post> posts = externalApi.getPosts();
+            List<Post> posts = fetchPosts();
             boolean postExists = posts.stream()
                 .anyMatch(post -> post.getId().equals(postId));
             
@@ -0,0 +1,336 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.model.Comment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Postings hold sorted post ids, so a rebuild only touches the postings of posts whose content changed
+ * and every other postings array is shared with the previous index.
+ */
+final class PostsIndex {
+    private static final int[] NONE = new int[0];
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final UserPostings postsByUser;
+    private final Map<String, int[]> postsByToken;
+    private final IdLookup documentSlots;
+    private final Document[] documents;
+    private final int reused;
+
+    private PostsIndex(UserPostings postsByUser, Map<String, int[]> postsByToken, IdLookup documentSlots,
+                       Document[] documents, int reused) {
+        this.postsByUser = postsByUser;
+        this.postsByToken = postsByToken;
+        this.documentSlots = documentSlots;
+        this.documents = documents;
+        this.reused = reused;
+    }
+
+    static PostsIndex build(List<MergedPost> posts, PostsIndex previous) {
+        int[] ids = posts.stream().mapToInt(MergedPost::getId).toArray();
+        IdLookup slots = IdLookup.ofPositions(ids);
+        Document[] documents = new Document[posts.size()];
+        Map<String, Delta> tokenDeltas = new HashMap<>();
+        Map<Integer, Delta> userDeltas = new HashMap<>();
+        int reused = 0;
+        for (int slot = 0; slot < posts.size(); slot++) {
+            MergedPost post = posts.get(slot);
+            Document old = previous != null ? previous.document(post.getId()) : null;
+            Document document;
+            if (old != null && old.sameContent(post)) {
+                document = old;
+                reused++;
+            } else {
+                document = new Document(post);
+                diff(post.getId(), old, document, tokenDeltas, userDeltas);
+            }
+            documents[slot] = document;
+        }
+        if (previous != null) {
+            for (Document old : previous.documents) {
+                if (old != null && slots.get(old.id) == IdLookup.MISSING) {
+                    diff(old.id, old, null, tokenDeltas, userDeltas);
+                }
+            }
+        }
+        Map<String, int[]> byToken = previous != null ? new HashMap<>(previous.postsByToken) : new HashMap<>();
+        tokenDeltas.forEach((token, delta) -> put(byToken, token, delta.apply(byToken.get(token))));
+        UserPostings byUser = (previous != null ? previous.postsByUser : UserPostings.EMPTY).apply(userDeltas);
+        return new PostsIndex(byUser, byToken, slots, documents, reused);
+    }
+
+    PostsIndex without(Integer postId) {
+        Document removed = document(postId);
+        if (removed == null) {
+            return this;
+        }
+        Map<String, Delta> tokenDeltas = new HashMap<>();
+        Map<Integer, Delta> userDeltas = new HashMap<>();
+        diff(postId, removed, null, tokenDeltas, userDeltas);
+        Document[] remaining = documents.clone();
+        remaining[documentSlots.get(postId)] = null;
+        Map<String, int[]> byToken = new HashMap<>(postsByToken);
+        tokenDeltas.forEach((token, delta) -> put(byToken, token, delta.apply(byToken.get(token))));
+        return new PostsIndex(postsByUser.apply(userDeltas), byToken, documentSlots, remaining, reused);
+    }
+
+    int[] postsByUser(int userId) {
+        return postsByUser.get(userId);
+    }
+
+    int[] search(String query) {
+        String[] tokens = tokenize(query, new LinkedHashSet<>()).toArray(new String[0]);
+        if (tokens.length == 0) {
+            return NONE;
+        }
+        int[][] postings = new int[tokens.length][];
+        for (int i = 0; i < tokens.length; i++) {
+            postings[i] = postsByToken.get(tokens[i]);
+            if (postings[i] == null) {
+                return NONE;
+            }
+        }
+        Arrays.sort(postings, Comparator.comparingInt(list -> list.length));
+        int[] result = postings[0];
+        for (int i = 1; i < postings.length && result.length > 0; i++) {
+            result = intersect(result, postings[i]);
+        }
+        return result;
+    }
+
+    int reusedDocuments() {
+        return reused;
+    }
+
+    int tokenCount() {
+        return postsByToken.size();
+    }
+
+    int[] postings(String token) {
+        return postsByToken.get(token);
+    }
+
+    private Document document(Integer postId) {
+        int slot = postId != null ? documentSlots.get(postId) : IdLookup.MISSING;
+        return slot == IdLookup.MISSING ? null : documents[slot];
+    }
+
+    private static void diff(int id, Document old, Document current, Map<String, Delta> tokenDeltas,
+                             Map<Integer, Delta> userDeltas) {
+        Set<String> oldTokens = old != null ? Set.of(old.tokens) : Set.of();
+        Set<String> newTokens = current != null ? Set.of(current.tokens) : Set.of();
+        for (String token : oldTokens) {
+            if (!newTokens.contains(token)) {
+                tokenDeltas.computeIfAbsent(token, key -> new Delta()).removed.add(id);
+            }
+        }
+        for (String token : newTokens) {
+            if (!oldTokens.contains(token)) {
+                tokenDeltas.computeIfAbsent(token, key -> new Delta()).added.add(id);
+            }
+        }
+        Integer oldUser = old != null ? old.userId : null;
+        Integer newUser = current != null ? current.userId : null;
+        if (!Objects.equals(oldUser, newUser)) {
+            if (oldUser != null) {
+                userDeltas.computeIfAbsent(oldUser, key -> new Delta()).removed.add(id);
+            }
+            if (newUser != null) {
+                userDeltas.computeIfAbsent(newUser, key -> new Delta()).added.add(id);
+            }
+        }
+    }
+
+    private static void put(Map<String, int[]> postings, String token, int[] ids) {
+        if (ids.length > 0) {
+            postings.put(token, ids);
+        } else {
+            postings.remove(token);
+        }
+    }
+
+    private static String[] tokenize(MergedPost post) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokenize(post.getTitle(), tokens);
+        tokenize(post.getBody(), tokens);
+        for (Comment comment : post.getComments()) {
+            tokenize(comment.getBody(), tokens);
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    static Set<String> tokenize(String text, Set<String> tokens) {
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static List<MergedPost> select(List<MergedPost> posts, int[] positions, int limit) {
+        List<MergedPost> selected = new ArrayList<>(Math.min(positions.length, limit));
+        for (int i = 0; i < positions.length && selected.size() < limit; i++) {
+            selected.add(posts.get(positions[i]));
+        }
+        return selected;
+    }
+
+    /**
+     * Sorted post ids per user, keyed through an {@link IdLookup} so sparse or negative user ids stay compact.
+     */
+    private static final class UserPostings {
+        private static final UserPostings EMPTY = new UserPostings(new int[0], new int[0][]);
+
+        private final int[] userIds;
+        private final int[][] postings;
+        private final IdLookup slots;
+
+        private UserPostings(int[] userIds, int[][] postings) {
+            this.userIds = userIds;
+            this.postings = postings;
+            this.slots = IdLookup.ofPositions(userIds);
+        }
+
+        int[] get(int userId) {
+            int slot = slots.get(userId);
+            return slot == IdLookup.MISSING ? NONE : postings[slot];
+        }
+
+        UserPostings apply(Map<Integer, Delta> deltas) {
+            if (deltas.isEmpty()) {
+                return this;
+            }
+            int[] candidates = IntStream.concat(Arrays.stream(userIds), deltas.keySet().stream().mapToInt(Integer::intValue))
+                .distinct()
+                .sorted()
+                .toArray();
+            int[] keptIds = new int[candidates.length];
+            int[][] keptPostings = new int[candidates.length][];
+            int size = 0;
+            for (int userId : candidates) {
+                Delta delta = deltas.get(userId);
+                int[] ids = delta != null ? delta.apply(get(userId)) : get(userId);
+                if (ids.length > 0) {
+                    keptIds[size] = userId;
+                    keptPostings[size++] = ids;
+                }
+            }
+            return new UserPostings(Arrays.copyOf(keptIds, size), Arrays.copyOf(keptPostings, size));
+        }
+    }
+
+    private static final class Document {
+        private final int id;
+        private final Integer userId;
+        private final String title;
+        private final String body;
+        private final String[] commentBodies;
+        private final String[] tokens;
+
+        private Document(MergedPost post) {
+            this.id = post.getId();
+            this.userId = post.getUserId();
+            this.title = post.getTitle();
+            this.body = post.getBody();
+            this.commentBodies = commentBodies(post);
+            this.tokens = tokenize(post);
+        }
+
+        private boolean sameContent(MergedPost post) {
+            return Objects.equals(userId, post.getUserId())
+                && Objects.equals(title, post.getTitle())
+                && Objects.equals(body, post.getBody())
+                && Arrays.equals(commentBodies, commentBodies(post));
+        }
+
+        private static String[] commentBodies(MergedPost post) {
+            return post.getComments().stream().map(Comment::getBody).toArray(String[]::new);
+        }
+    }
+
+    private static final class Delta {
+        private final IntList added = new IntList();
+        private final IntList removed = new IntList();
+
+        int[] apply(int[] current) {
+            int[] base = current != null ? current : NONE;
+            int[] removedIds = removed.sorted();
+            int[] addedIds = added.sorted();
+            int[] result = new int[base.length + addedIds.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < base.length || j < addedIds.length) {
+                int next;
+                if (j == addedIds.length || (i < base.length && base[i] < addedIds[j])) {
+                    next = base[i++];
+                    if (Arrays.binarySearch(removedIds, next) >= 0) {
+                        continue;
+                    }
+                } else {
+                    next = addedIds[j++];
+                }
+                result[size++] = next;
+            }
+            return size == result.length ? result : Arrays.copyOf(result, size);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] sorted() {
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
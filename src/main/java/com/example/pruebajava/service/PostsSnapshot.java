@@ -0,0 +1,224 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public final class PostsSnapshot {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    static final int MAX_CACHED_PROJECTIONS = 16;
+
+    private final List<MergedPost> posts;
+    private final IdLookup positionsById;
+    private final Instant builtAt;
+    private final Variant full;
+    private final FieldSet shape;
+    private volatile PostsIndex index;
+    private final Cache<FieldSet, Variant> projections = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_PROJECTIONS)
+        .executor(Runnable::run)
+        .build();
+
+    public PostsSnapshot(List<MergedPost> posts, Instant builtAt, byte[] json) {
+        this(posts, builtAt, json, null);
+    }
+
+    public PostsSnapshot(List<MergedPost> posts, Instant builtAt, byte[] json, FieldSet shape) {
+        this(posts, builtAt, () -> json, shape, null);
+    }
+
+    PostsSnapshot(List<MergedPost> posts, Instant builtAt, Supplier<byte[]> json, FieldSet shape, PostsIndex index) {
+        this.posts = Collections.unmodifiableList(posts);
+        this.positionsById = IdLookup.ofPositions(posts.stream().mapToInt(MergedPost::getId).toArray());
+        this.builtAt = builtAt;
+        this.full = new Variant(json);
+        this.shape = shape;
+        this.index = index;
+    }
+
+    public List<MergedPost> getPosts() { return posts; }
+    public Instant getBuiltAt() { return builtAt; }
+    FieldSet getShape() { return shape; }
+    public String getETag() { return full.eTag(null); }
+
+    public byte[] body(String encoding) {
+        return full.body(encoding);
+    }
+
+    public String eTag(String encoding) {
+        return full.eTag(encoding);
+    }
+
+    public Variant variant(FieldSet fields, ObjectMapper objectMapper) {
+        if (fields == null || fields.equals(shape)) {
+            return full;
+        }
+        return projections.get(fields, key -> new Variant(() -> key.write(objectMapper, posts)));
+    }
+
+    int cachedProjections() {
+        projections.cleanUp();
+        return (int) projections.estimatedSize();
+    }
+
+    public boolean containsPost(Integer postId) {
+        return positionOf(postId) >= 0;
+    }
+
+    public Optional<MergedPost> findPost(Integer postId) {
+        int position = positionOf(postId);
+        return position < 0 ? Optional.empty() : Optional.of(posts.get(position));
+    }
+
+    private int positionOf(Integer postId) {
+        return postId != null ? positionsById.get(postId) : IdLookup.MISSING;
+    }
+
+    public List<MergedPost> postsWithout(Integer postId) {
+        return posts.stream()
+            .filter(post -> !postId.equals(post.getId()))
+            .collect(Collectors.toList());
+    }
+
+    public List<MergedPost> postsByUser(int userId) {
+        return PostsIndex.select(posts, positionsOf(index().postsByUser(userId)), Integer.MAX_VALUE);
+    }
+
+    public List<MergedPost> search(String query, int limit) {
+        return PostsIndex.select(posts, positionsOf(index().search(query)), limit);
+    }
+
+    PostsIndex index() {
+        PostsIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = PostsIndex.build(posts, null);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    PostsIndex builtIndex() {
+        return index;
+    }
+
+    PostsIndex indexWithout(Integer postId) {
+        PostsIndex current = index;
+        return current != null ? current.without(postId) : null;
+    }
+
+    private int[] positionsOf(int[] ids) {
+        int[] positions = new int[ids.length];
+        int size = 0;
+        for (int id : ids) {
+            int position = positionOf(id);
+            if (position >= 0) {
+                positions[size++] = position;
+            }
+        }
+        positions = Arrays.copyOf(positions, size);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    public Duration age(Clock clock) {
+        return Duration.between(builtAt, clock.instant());
+    }
+
+    /**
+     * Serializes on first use and compresses or hashes only the encodings that are actually requested, so a
+     * snapshot patched by a deletion or a one-off projection costs nothing beyond what it serves.
+     */
+    public static final class Variant {
+        private final Lazy<byte[]> json;
+        private final Lazy<String> etag;
+        private final Lazy<byte[]> gzip;
+        private final Lazy<byte[]> deflate;
+
+        private Variant(Supplier<byte[]> source) {
+            this.json = new Lazy<>(source);
+            this.etag = new Lazy<>(() -> DigestUtils.md5DigestAsHex(json.get()));
+            this.gzip = new Lazy<>(() -> compress(json.get(), GZIP));
+            this.deflate = new Lazy<>(() -> compress(json.get(), DEFLATE));
+        }
+
+        public byte[] body(String encoding) {
+            if (GZIP.equals(encoding)) {
+                return gzip.get();
+            }
+            if (DEFLATE.equals(encoding)) {
+                return deflate.get();
+            }
+            return json.get();
+        }
+
+        public String eTag(String encoding) {
+            return encoding == null ? etag.get() : etag.get() + "-" + encoding;
+        }
+
+        boolean isEncoded(String encoding) {
+            return (GZIP.equals(encoding) ? gzip : DEFLATE.equals(encoding) ? deflate : json).isDone();
+        }
+    }
+
+    private static final class Lazy<T> {
+        private Supplier<T> source;
+        private volatile T value;
+
+        private Lazy(Supplier<T> source) {
+            this.source = source;
+        }
+
+        T get() {
+            T current = value;
+            if (current == null) {
+                synchronized (this) {
+                    current = value;
+                    if (current == null) {
+                        current = source.get();
+                        value = current;
+                        source = null;
+                    }
+                }
+            }
+            return current;
+        }
+
+        boolean isDone() {
+            return value != null;
+        }
+    }
+
+    private static byte[] compress(byte[] content, String encoding) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (OutputStream out = GZIP.equals(encoding) ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress merged posts snapshot with " + encoding, e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.GZIPInputStream;
+
+public class PostsSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(PostsSnapshotStore.class);
+
+    static final int MAGIC = 0x50534E50;
+    static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public PostsSnapshotStore(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    public static PostsSnapshotStore disabled() {
+        return new PostsSnapshotStore(null, null);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public void save(PostsSnapshot snapshot) {
+        if (!isEnabled()) {
+            return;
+        }
+        byte[] payload = snapshot.body(PostsSnapshot.GZIP);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer content = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+            .putInt(MAGIC)
+            .putShort(FORMAT_VERSION)
+            .putLong(snapshot.getBuiltAt().toEpochMilli())
+            .putInt(payload.length)
+            .putLong(crc.getValue())
+            .put(payload);
+
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temp, content.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Persisted snapshot of {} merged posts to {} ({} bytes)",
+                snapshot.getPosts().size(), file, content.capacity());
+        } catch (IOException e) {
+            logger.warn("Could not persist merged posts snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    public Optional<PostsSnapshot> load() {
+        if (!isEnabled() || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long fileSize = Files.size(file);
+            if (fileSize < HEADER_BYTES) {
+                return ignore("file is truncated");
+            }
+            if (in.readInt() != MAGIC) {
+                return ignore("unknown file format");
+            }
+            short version = in.readShort();
+            if (version != FORMAT_VERSION) {
+                return ignore("format version " + version + " is not supported");
+            }
+            Instant builtAt = Instant.ofEpochMilli(in.readLong());
+            int length = in.readInt();
+            long expectedCrc = in.readLong();
+            if (length < 0 || length != fileSize - HEADER_BYTES) {
+                return ignore("payload length does not match file size");
+            }
+
+            CheckedInputStream payload = new CheckedInputStream(in, new CRC32());
+            byte[] json;
+            try (InputStream gunzipped = new GZIPInputStream(payload)) {
+                json = gunzipped.readAllBytes();
+                payload.skip(Long.MAX_VALUE);
+            }
+            if (payload.getChecksum().getValue() != expectedCrc) {
+                return ignore("checksum mismatch");
+            }
+
+            List<MergedPost> posts = reshare(objectMapper.readValue(json, MergedPost[].class));
+            logger.info("Loaded snapshot of {} merged posts built at {} from {}", posts.size(), builtAt, file);
+            return Optional.of(new PostsSnapshot(posts, builtAt, json));
+        } catch (IOException | RuntimeException e) {
+            return ignore(e.getMessage());
+        }
+    }
+
+    static List<MergedPost> reshare(MergedPost[] restored) {
+        Map<Integer, User> users = new HashMap<>();
+        StringPool strings = new StringPool(StringPool.DEFAULT_MAX_SIZE);
+        List<MergedPost> posts = new ArrayList<>(restored.length);
+        for (MergedPost post : restored) {
+            User user = post.getUser() != null
+                ? users.computeIfAbsent(post.getUser().getId(), id -> post.getUser())
+                : null;
+            List<Comment> comments = new ArrayList<>(post.getComments().size());
+            post.getComments().forEach(comment -> comments.add(strings.dedup(comment)));
+            posts.add(new MergedPost(post.getId(), post.getUserId(), post.getTitle(), post.getBody(), user, comments));
+        }
+        return posts;
+    }
+
+    private Optional<PostsSnapshot> ignore(String reason) {
+        logger.warn("Ignoring persisted merged posts snapshot {}: {}", file, reason);
+        return Optional.empty();
+    }
+}
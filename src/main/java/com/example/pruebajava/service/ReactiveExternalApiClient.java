@@ -0,0 +1,152 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.exception.PostNotFoundException;
+import com.example.pruebajava.exception.UserNotFoundException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class ReactiveExternalApiClient implements ExternalApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExternalApiClient.class);
+
+    private final WebClient webClient;
+
+    public ReactiveExternalApiClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public Mono<List<Post>> posts() {
+        return webClient.get().uri("/posts")
+            .retrieve()
+            .bodyToMono(Post[].class)
+            .map(Arrays::asList)
+            .doOnNext(posts -> logger.info("Successfully retrieved {} posts", posts.size()))
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Posts API", "fetching posts", null));
+    }
+
+    public Mono<Post> post(Integer postId) {
+        return webClient.get().uri("/posts/{postId}", postId)
+            .retrieve()
+            .bodyToMono(Post.class)
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Posts API", "fetching post " + postId,
+                () -> PostNotFoundException.forPostId(postId)))
+            .switchIfEmpty(Mono.error(() -> PostNotFoundException.forPostId(postId)));
+    }
+
+    public Mono<List<Comment>> comments() {
+        return fetchComments("/comments", "all posts");
+    }
+
+    public Mono<List<Comment>> commentsForPosts(Collection<Integer> postIds) {
+        return webClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/comments").queryParam("postId", postIds.toArray()).build())
+            .retrieve()
+            .bodyToMono(Comment[].class)
+            .map(Arrays::asList)
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Comments API", "fetching comments for " + postIds.size() + " posts", null));
+    }
+
+    public Mono<List<Comment>> commentsForPost(Integer postId) {
+        return webClient.get().uri("/posts/{postId}/comments", postId)
+            .retrieve()
+            .bodyToMono(Comment[].class)
+            .map(Arrays::asList)
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Comments API", "fetching comments for post " + postId,
+                () -> PostNotFoundException.forPostId(postId)));
+    }
+
+    public Mono<User> user(Integer userId) {
+        return webClient.get().uri("/users/{userId}", userId)
+            .retrieve()
+            .bodyToMono(User.class)
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Users API", "fetching user " + userId,
+                () -> UserNotFoundException.forUserId(userId)));
+    }
+
+    public Mono<Void> delete(Integer postId) {
+        return webClient.delete().uri("/posts/{postId}", postId)
+            .retrieve()
+            .toBodilessEntity()
+            .doOnNext(response -> logger.info("Successfully deleted post {} - Status: {}", postId, response.getStatusCode()))
+            .then()
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Delete API", "deleting post " + postId,
+                () -> PostNotFoundException.forPostId(postId)));
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return posts().toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return post(postId).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        return comments().toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        return commentsForPosts(postIds).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return commentsForPost(postId).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return user(userId).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return delete(postId).toFuture();
+    }
+
+    private Mono<List<Comment>> fetchComments(String path, String scope) {
+        return webClient.get().uri(path)
+            .retrieve()
+            .bodyToMono(Comment[].class)
+            .map(Arrays::asList)
+            .onErrorMap(e -> translate(e, "JSONPlaceholder Comments API", "fetching comments for " + scope, null));
+    }
+
+    private Throwable translate(Throwable e, String serviceName, String operation,
+                                Supplier<RuntimeException> notFound) {
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException response = (WebClientResponseException) e;
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND && notFound != null) {
+                logger.warn("Not found while {} (404)", operation);
+                return notFound.get();
+            }
+            logger.error("{} error {}: {} - {}", response.getStatusCode().is4xxClientError() ? "Client" : "Server",
+                operation, response.getStatusCode(), response.getMessage());
+            return ExternalServiceException.serviceUnavailable(serviceName);
+        }
+        if (e instanceof WebClientRequestException) {
+            logger.error("Timeout or connection error {}: {}", operation, e.getMessage());
+            return ExternalServiceException.timeout(serviceName, 5);
+        }
+        logger.error("Unexpected error {}: {}", operation, e.getMessage(), e);
+        return ExternalServiceException.serviceUnavailable(serviceName);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.ResilienceProperties;
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.exception.BulkheadFullException;
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ResilientExternalApiClient implements ExternalApiClient, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(ResilientExternalApiClient.class);
+
+    private final ExternalApiClient delegate;
+    private final UpstreamExecutors executors;
+    private final ResilienceProperties.Retry retry;
+    private final RetryBudget retryBudget;
+    private final CircuitBreaker postsBreaker;
+    private final CircuitBreaker usersBreaker;
+    private final CircuitBreaker commentsBreaker;
+    private final CircuitBreaker deleteBreaker;
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong retriesDenied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ResilientExternalApiClient(ExternalApiClient delegate, ResilienceProperties properties, Clock clock,
+                                      UpstreamExecutors executors) {
+        this.delegate = delegate;
+        this.executors = executors;
+        this.retry = properties.getRetry();
+        this.retryBudget = new RetryBudget(retry.getBudgetRatio(), retry.getBudgetMaxTokens());
+        this.postsBreaker = new CircuitBreaker("JSONPlaceholder Posts API", properties.getCircuitBreaker(), clock);
+        this.usersBreaker = new CircuitBreaker("JSONPlaceholder Users API", properties.getCircuitBreaker(), clock);
+        this.commentsBreaker = new CircuitBreaker("JSONPlaceholder Comments API", properties.getCircuitBreaker(), clock);
+        this.deleteBreaker = new CircuitBreaker("JSONPlaceholder Delete API", properties.getCircuitBreaker(), clock);
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return call(postsBreaker, executors.posts(), delegate::getPosts, true);
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return call(postsBreaker, executors.posts(), () -> delegate.getPost(postId), true);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        return call(commentsBreaker, executors.comments(), delegate::getComments, true);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        return call(commentsBreaker, executors.comments(), () -> delegate.getCommentsForPosts(postIds), true);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return call(commentsBreaker, executors.comments(), () -> delegate.getCommentsForPost(postId), true);
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return call(usersBreaker, executors.users(), () -> delegate.getUser(userId), true);
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return call(deleteBreaker, executors.posts(), () -> delegate.deletePost(postId), false);
+    }
+
+    public List<CircuitBreaker> circuitBreakers() {
+        return List.of(postsBreaker, usersBreaker, commentsBreaker, deleteBreaker);
+    }
+
+    private <T> CompletableFuture<T> call(CircuitBreaker breaker, Executor executor, Supplier<CompletableFuture<T>> call,
+                                          boolean retryable) {
+        retryBudget.onRequest();
+        return attempt(breaker, executor, call, retryable ? Math.max(1, retry.getMaxAttempts()) : 1, 1);
+    }
+
+    private <T> CompletableFuture<T> attempt(CircuitBreaker breaker, Executor executor,
+                                             Supplier<CompletableFuture<T>> call, int maxAttempts, int attempt) {
+        if (!breaker.tryAcquire()) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(ExternalServiceException.circuitOpen(breaker.getName()));
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.handle((value, error) -> {
+            if (error == null) {
+                breaker.onSuccess();
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof BulkheadFullException) {
+                breaker.onIgnored();
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            if (!(cause instanceof ExternalServiceException)) {
+                breaker.onSuccess();
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+
+            breaker.onFailure();
+            if (attempt >= maxAttempts) {
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            if (!retryBudget.tryAcquireRetry()) {
+                retriesDenied.incrementAndGet();
+                logger.debug("Retry budget exhausted, not retrying call to {}", breaker.getName());
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+
+            retries.incrementAndGet();
+            long delay = backoffMillis(attempt);
+            logger.debug("Retrying call to {} (attempt {} of {}) in {} ms: {}",
+                breaker.getName(), attempt + 1, maxAttempts, delay, cause.getMessage());
+            return retryLater(delay, breaker, executor, () -> attempt(breaker, executor, call, maxAttempts, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * The JVM-wide delay scheduler is a single thread, so it only fires the timer; the hand-off to the bulkhead runs
+     * on the async pool, where a caller-runs rejection cannot stall other timers.
+     */
+    private static <T> CompletableFuture<T> retryLater(long delay, CircuitBreaker breaker, Executor executor,
+                                                       Supplier<CompletableFuture<T>> next) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            try {
+                executor.execute(() -> next.get().whenComplete((value, error) -> {
+                    if (error == null) {
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(unwrap(error));
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(BulkheadFullException.forService(breaker.getName()));
+            }
+        });
+        return result;
+    }
+
+    private long backoffMillis(int attempt) {
+        long initial = retry.getInitialBackoff().toMillis();
+        long cap = Math.min(retry.getMaxBackoff().toMillis(), initial << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CircuitBreaker breaker : circuitBreakers()) {
+            Gauge.builder("upstream.circuit.state", breaker, cb -> cb.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("name", breaker.getName())
+                .register(registry);
+        }
+        FunctionCounter.builder("upstream.circuit.rejected", rejected, AtomicLong::get)
+            .description("Calls failed fast because the circuit breaker was open")
+            .register(registry);
+        FunctionCounter.builder("upstream.retries", retries, AtomicLong::get)
+            .tag("outcome", "attempted")
+            .register(registry);
+        FunctionCounter.builder("upstream.retries", retriesDenied, AtomicLong::get)
+            .tag("outcome", "budget-exhausted")
+            .register(registry);
+        Gauge.builder("upstream.retry.budget.tokens", retryBudget, RetryBudget::availableTokens)
+            .register(registry);
+    }
+}
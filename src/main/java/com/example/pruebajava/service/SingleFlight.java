@@ -0,0 +1,70 @@
+package com.example.pruebajava.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V> implements MeterBinder {
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            return existing;
+        }
+
+        executed.incrementAndGet();
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    public long executedCount() {
+        return executed.get();
+    }
+
+    public long deduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.calls", executed, AtomicLong::get)
+            .description("Calls that started a new in-flight operation")
+            .tag("name", name)
+            .tag("outcome", "executed")
+            .register(registry);
+        FunctionCounter.builder("singleflight.calls", deduplicated, AtomicLong::get)
+            .description("Calls that joined an operation already in flight for the same key")
+            .tag("name", name)
+            .tag("outcome", "deduplicated")
+            .register(registry);
+    }
+}
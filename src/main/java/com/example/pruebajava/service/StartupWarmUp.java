@@ -0,0 +1,212 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.CommentsProperties;
+import com.example.pruebajava.config.WarmUpProperties;
+import com.example.pruebajava.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component("warmUp")
+public class StartupWarmUp implements ApplicationRunner, HealthIndicator {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        READY,
+        RESTORED,
+        TIMED_OUT,
+        DISABLED
+    }
+
+    private final ExternalApiClient externalApi;
+    private final PostService postService;
+    private final CommentsProperties commentsProperties;
+    private final WarmUpProperties properties;
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private volatile Status status = Status.PENDING;
+    private volatile int attempts;
+
+    public StartupWarmUp(ExternalApiClient externalApi, PostService postService,
+                         CommentsProperties commentsProperties, WarmUpProperties properties) {
+        this.externalApi = externalApi;
+        this.postService = postService;
+        this.commentsProperties = commentsProperties;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            status = Status.DISABLED;
+            logger.info("Startup warm-up disabled");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        if (postService.hasServableSnapshot()) {
+            status = Status.RESTORED;
+            logger.info("Serving restored snapshot, warming up caches in the background with timeout {}",
+                properties.getTimeout());
+            CompletableFuture.runAsync(() -> warmUpUntil(deadline), daemonThread())
+                .whenComplete((done, error) -> {
+                    if (error == null) {
+                        logger.info("Background warm-up completed in {} ms after {} attempt(s): {}",
+                            elapsedMillis(start), attempts, phases());
+                    } else {
+                        logger.warn("Background warm-up did not complete after {} attempt(s), the scheduled refresh will retry: {}",
+                            attempts, unwrap(error).getMessage());
+                    }
+                });
+            return;
+        }
+
+        status = Status.RUNNING;
+        logger.info("Starting warm-up with parallelism {} and timeout {}", properties.getParallelism(), properties.getTimeout());
+
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(() -> warmUpUntil(deadline), daemonThread());
+        try {
+            warmUp.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            status = Status.READY;
+            logger.info("Warm-up completed in {} ms after {} attempt(s): {}", elapsedMillis(start), attempts, phases());
+        } catch (TimeoutException | ExecutionException e) {
+            status = Status.TIMED_OUT;
+            logger.warn("Warm-up did not complete within {} after {} attempt(s), accepting traffic with a cold cache: {}",
+                properties.getTimeout(), attempts, phases());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = Status.TIMED_OUT;
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = status == Status.PENDING || status == Status.RUNNING
+            ? Health.outOfService()
+            : Health.up();
+        return health
+            .withDetail("status", status)
+            .withDetail("attempts", attempts)
+            .withDetail("phasesMillis", phases())
+            .build();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    private void warmUpUntil(long deadline) {
+        while (true) {
+            attempts++;
+            try {
+                List<Post> posts = phase("posts", () -> externalApi.getPosts().join());
+                phase("users", () -> awaitAll(distinctUserIds(posts), externalApi::getUser));
+                if (commentsProperties.getFetchMode() != CommentsProperties.FetchMode.BULK) {
+                    phase("comments", () -> warmUpComments(posts));
+                }
+                phase("snapshot", postService::rebuildSnapshot);
+                return;
+            } catch (RuntimeException e) {
+                long remaining = deadline - System.nanoTime();
+                logger.warn("Warm-up attempt {} failed: {}", attempts, unwrap(e).getMessage());
+                if (remaining <= properties.getRetryInterval().toNanos()) {
+                    throw e;
+                }
+                sleep(properties.getRetryInterval().toMillis());
+            }
+        }
+    }
+
+    /**
+     * Only for batched and per-post modes: in bulk mode the snapshot rebuild downloads /comments once and fills the
+     * per-post cache itself, so a separate phase would download it twice.
+     */
+    private Object warmUpComments(List<Post> posts) {
+        List<Integer> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+        int batchSize = Math.max(1, commentsProperties.getBatchSize());
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < postIds.size(); from += batchSize) {
+            batches.add(postIds.subList(from, Math.min(from + batchSize, postIds.size())));
+        }
+        return awaitAll(batches, externalApi::getCommentsForPosts);
+    }
+
+    private <T> Void awaitAll(List<T> items, Function<T, CompletableFuture<?>> call) {
+        Semaphore permits = new Semaphore(Math.max(1, properties.getParallelism()));
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (T item : items) {
+            permits.acquireUninterruptibly();
+            futures.add(call.apply(item).whenComplete((result, error) -> permits.release()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private <T> T phase(String name, Supplier<T> work) {
+        long start = System.nanoTime();
+        T result = work.get();
+        long millis = elapsedMillis(start);
+        synchronized (phaseMillis) {
+            phaseMillis.put(name, millis);
+        }
+        logger.info("Warm-up phase '{}' completed in {} ms", name, millis);
+        return result;
+    }
+
+    private Map<String, Long> phases() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+
+    private static List<Integer> distinctUserIds(List<Post> posts) {
+        return posts.stream().map(Post::getUserId).distinct().collect(Collectors.toList());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Warm-up interrupted", e);
+        }
+    }
+
+    private static Executor daemonThread() {
+        return task -> {
+            Thread thread = new Thread(task, "snapshot-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.model.Comment;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+final class StringPool {
+    static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final ConcurrentMap<String, String> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    String dedup(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pool.size() < maxSize) {
+            String raced = pool.putIfAbsent(value, value);
+            return raced != null ? raced : value;
+        }
+        return value;
+    }
+
+    Comment dedup(Comment comment) {
+        String name = dedup(comment.getName());
+        String email = dedup(comment.getEmail());
+        if (name == comment.getName() && email == comment.getEmail()) {
+            return comment;
+        }
+        return new Comment(comment.getPostId(), comment.getId(), name, email, comment.getBody());
+    }
+
+    List<Comment> dedup(List<Comment> comments) {
+        return comments.stream().map(this::dedup).collect(Collectors.toList());
+    }
+
+    int size() {
+        return pool.size();
+    }
+}
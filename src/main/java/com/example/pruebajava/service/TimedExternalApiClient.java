@@ -0,0 +1,95 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.exception.BulkheadFullException;
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.exception.PostNotFoundException;
+import com.example.pruebajava.exception.UserNotFoundException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+public class TimedExternalApiClient implements ExternalApiClient {
+    private final ExternalApiClient delegate;
+    private final MeterRegistry registry;
+
+    public TimedExternalApiClient(ExternalApiClient delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public CompletableFuture<List<Post>> getPosts() {
+        return timed("getPosts", delegate::getPosts);
+    }
+
+    @Override
+    public CompletableFuture<Post> getPost(Integer postId) {
+        return timed("getPost", () -> delegate.getPost(postId));
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getComments() {
+        return timed("getComments", delegate::getComments);
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+        return timed("getCommentsForPosts", () -> delegate.getCommentsForPosts(postIds));
+    }
+
+    @Override
+    public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+        return timed("getCommentsForPost", () -> delegate.getCommentsForPost(postId));
+    }
+
+    @Override
+    public CompletableFuture<User> getUser(Integer userId) {
+        return timed("getUser", () -> delegate.getUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePost(Integer postId) {
+        return timed("deletePost", () -> delegate.deletePost(postId));
+    }
+
+    private <T> CompletableFuture<T> timed(String method, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(registry);
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> sample.stop(Timer.builder("upstream.requests")
+            .description("Calls to the upstream API by client method and outcome")
+            .tag("method", method)
+            .tag("outcome", outcome(error))
+            .publishPercentileHistogram()
+            .register(registry)));
+    }
+
+    static String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause == null) {
+            return "success";
+        }
+        if (cause instanceof PostNotFoundException || cause instanceof UserNotFoundException) {
+            return "not_found";
+        }
+        if (cause instanceof BulkheadFullException) {
+            return "rejected";
+        }
+        if (cause instanceof ExternalServiceException) {
+            return "upstream_error";
+        }
+        return "error";
+    }
+}
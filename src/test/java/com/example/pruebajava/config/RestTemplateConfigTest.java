@@ -0,0 +1,36 @@
+package com.example.pruebajava.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateConfigTest {
+
+    @Test
+    void testConnectionManager_UsesConfiguredLimits() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxTotal(150);
+        properties.setMaxPerRoute(120);
+
+        PoolingHttpClientConnectionManager connectionManager = new RestTemplateConfig(properties).httpConnectionManager();
+
+        assertEquals(150, connectionManager.getMaxTotal());
+        assertEquals(120, connectionManager.getDefaultMaxPerRoute());
+        connectionManager.close();
+    }
+
+    @Test
+    void testPoolMetrics_ExposeLeaseStatistics() {
+        RestTemplateConfig config = new RestTemplateConfig(new HttpClientProperties());
+        PoolingHttpClientConnectionManager connectionManager = config.httpConnectionManager();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.httpClientPoolMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(0, registry.get("http.client.pool.leased").gauge().value());
+        assertEquals(200, registry.get("http.client.pool.max").gauge().value());
+        connectionManager.close();
+    }
+}
@@ -1,23 +1,39 @@
 package com.example.pruebajava.controller;
 
 import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.dto.PostsPage;
+import com.example.pruebajava.exception.ApiException;
 import com.example.pruebajava.model.Comment;
 import com.example.pruebajava.model.Post;
 import com.example.pruebajava.model.User;
+import com.example.pruebajava.service.FetchPlan;
 import com.example.pruebajava.service.PostService;
+import com.example.pruebajava.service.PostsSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +41,9 @@ class PostsControllerTest {
     @Mock
     PostService postService;
 
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     PostsController postsController;
 
@@ -37,36 +56,182 @@ class PostsControllerTest {
         post.setTitle("Sample Post");
         post.setBody("Sample body");
 
-        User user = new User();
-        user.setId(1);
-        user.setName("Lionel Messi");
-        user.setEmail("lionel.messi@example.com");
+        User user = new User(1, "Lionel Messi", null, "lionel.messi@example.com");
+
+        Comment comment = new Comment(null, 1, "Comment Name", null, "Comment body");
+
+        sampleMergedPost = new MergedPost(1, null, "Sample Post", "Sample body", user, Arrays.asList(comment));
+    }
+
+    @Test
+    void testGetPosts_Controller() throws Exception {
+        PostsSnapshot snapshot = snapshotOf(sampleMergedPost);
+        when(postService.getSnapshot(FetchPlan.ALL)).thenReturn(snapshot);
+
+        ResponseEntity<?> response = postsController.getPosts(null, null, null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        MergedPost[] body = objectMapper.readValue((byte[]) response.getBody(), MergedPost[].class);
+        assertEquals(1, body.length);
+        assertEquals("Sample Post", body[0].getTitle());
+        assertEquals("\"" + snapshot.getETag() + "\"", response.getHeaders().getETag());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verify(postService, times(1)).getSnapshot(FetchPlan.ALL);
+    }
+
+    @Test
+    void testGetPosts_ServesPrecompressedGzipBody() throws Exception {
+        PostsSnapshot snapshot = snapshotOf(sampleMergedPost);
+        when(postService.getSnapshot(FetchPlan.ALL)).thenReturn(snapshot);
+        clearInvocations(objectMapper);
+
+        ResponseEntity<?> response = postsController.getPosts(null, null, null, null, null, null, "br;q=1.0, gzip;q=0.8, deflate");
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals("\"" + snapshot.getETag() + "-gzip\"", response.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getBody()))) {
+            assertArrayEquals(snapshot.body(null), in.readAllBytes());
+        }
+        verifyNoInteractions(objectMapper);
+    }
+
+    @Test
+    void testGetPosts_MatchingETagReturnsNotModified() throws Exception {
+        PostsSnapshot snapshot = snapshotOf(sampleMergedPost);
+        when(postService.getSnapshot(FetchPlan.ALL)).thenReturn(snapshot);
+        clearInvocations(objectMapper);
+
+        ResponseEntity<?> response = postsController.getPosts(null, null, null, null, null,
+            "\"old\", W/\"" + snapshot.getETag() + "-deflate\"", "deflate, gzip;q=0");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"" + snapshot.getETag() + "-deflate\"", response.getHeaders().getETag());
+        verifyNoInteractions(objectMapper);
+    }
+
+    @Test
+    void testGetPosts_SparseFieldsetProjectsNestedPathsAndCachesVariant() throws Exception {
+        PostsSnapshot snapshot = snapshotOf(sampleMergedPost);
+        when(postService.getSnapshot(FetchPlan.USERS)).thenReturn(snapshot);
+
+        ResponseEntity<?> first = postsController.getPosts(null, null, null, "title, user.name,id", null, null, null);
+        ResponseEntity<?> second = postsController.getPosts(null, null, null, "id,title,user.name", null, null, null);
+
+        assertEquals("[{\"id\":1,\"title\":\"Sample Post\",\"user\":{\"name\":\"Lionel Messi\"}}]",
+            new String((byte[]) first.getBody(), StandardCharsets.UTF_8));
+        assertSame(first.getBody(), second.getBody());
+        assertNotEquals("\"" + snapshot.getETag() + "\"", first.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetPosts_ExpandNoneOmitsRelations() throws Exception {
+        PostsSnapshot snapshot = snapshotOf(sampleMergedPost);
+        when(postService.getSnapshot(FetchPlan.POSTS_ONLY)).thenReturn(snapshot);
+
+        ResponseEntity<?> response = postsController.getPosts(null, null, null, null, "none", null, null);
+
+        assertEquals("[{\"id\":1,\"userId\":null,\"title\":\"Sample Post\",\"body\":\"Sample body\"}]",
+            new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGetPosts_FieldsOutsideExpansionRejected() {
+        assertThrows(ApiException.class, () -> postsController.getPosts(null, null, null, "id,comments.body", "user", null, null));
+        assertThrows(ApiException.class, () -> postsController.getPosts(null, null, null, null, "user,author", null, null));
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void testGetPosts_ByUserIdServedFromIndex() throws Exception {
+        when(postService.getPostsByUser(1, FetchPlan.POSTS_ONLY)).thenReturn(List.of(sampleMergedPost));
+
+        ResponseEntity<?> response = postsController.getPosts(null, null, 1, "id,title", null, null, null);
 
-        Comment comment = new Comment();
-        comment.setId(1);
-        comment.setName("Comment Name");
-        comment.setBody("Comment body");
+        assertEquals("[{\"id\":1,\"title\":\"Sample Post\"}]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertThrows(ApiException.class, () -> postsController.getPosts(10, null, 1, null, null, null, null));
+    }
+
+    @Test
+    void testSearchPosts_UsesDefaultLimit() {
+        when(postService.searchPosts("sample", 20)).thenReturn(List.of(sampleMergedPost));
+
+        ResponseEntity<?> response = postsController.searchPosts("sample", null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(sampleMergedPost), response.getBody());
+    }
+
+    @Test
+    void testGetPost_ReturnsSinglePost() {
+        when(postService.getMergedPost(1, FetchPlan.ALL)).thenReturn(sampleMergedPost);
+
+        ResponseEntity<?> response = postsController.getPost(1, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(sampleMergedPost, response.getBody());
+    }
+
+    @Test
+    void testGetPost_SparseFieldsetUsesPostsOnlyPlan() {
+        when(postService.getMergedPost(1, FetchPlan.POSTS_ONLY)).thenReturn(sampleMergedPost);
+
+        ResponseEntity<?> response = postsController.getPost(1, "id,title", null);
 
-        sampleMergedPost = new MergedPost();
-        sampleMergedPost.setId(1);
-        sampleMergedPost.setTitle("Sample Post");
-        sampleMergedPost.setBody("Sample body");
-        sampleMergedPost.setUser(user);
-        sampleMergedPost.setComments(Arrays.asList(comment));
+        assertEquals("{\"id\":1,\"title\":\"Sample Post\"}", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
-    void testGetPosts_Controller() {
-        List<MergedPost> expectedPosts = Arrays.asList(sampleMergedPost);
-        when(postService.getAllMergedPosts()).thenReturn(expectedPosts);
+    void testGetPosts_UnknownFieldRejected() {
+        assertThrows(ApiException.class, () -> postsController.getPosts(null, null, null, "id,user.password", null, null, null));
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void testGetPosts_Paginated_Controller() {
+        PostsPage page = new PostsPage(Arrays.asList(sampleMergedPost), "MQ");
+        when(postService.getMergedPostsPage(null, 1, FetchPlan.ALL)).thenReturn(page);
+
+        ResponseEntity<?> response = postsController.getPosts(1, null, null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, ((List<?>) response.getBody()).size());
+        assertEquals("MQ", response.getHeaders().getFirst(PostsController.NEXT_CURSOR_HEADER));
+        assertEquals("</posts?limit=1&cursor=MQ>; rel=\"next\"", response.getHeaders().getFirst(HttpHeaders.LINK));
+        verify(postService, never()).getSnapshot(any());
+    }
+
+    @Test
+    void testGetPosts_LastPage_Controller() {
+        when(postService.getMergedPostsPage("MQ", 20, FetchPlan.ALL)).thenReturn(new PostsPage(Arrays.asList(sampleMergedPost), null));
+
+        ResponseEntity<?> response = postsController.getPosts(null, "MQ", null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(PostsController.NEXT_CURSOR_HEADER));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
 
-        ResponseEntity<List<MergedPost>> response = postsController.getPosts();
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamPosts_WritesOneJsonLinePerPost() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<List<MergedPost>> consumer = invocation.getArgument(1);
+            consumer.accept(Arrays.asList(sampleMergedPost));
+            consumer.accept(Arrays.asList(sampleMergedPost));
+            return null;
+        }).when(postService).streamMergedPosts(eq(FetchPlan.ALL), any());
+
+        ResponseEntity<StreamingResponseBody> response = postsController.streamPosts(null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals("Sample Post", response.getBody().get(0).getTitle());
-        verify(postService, times(1)).getAllMergedPosts();
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Sample Post", objectMapper.readValue(lines[0], MergedPost.class).getTitle());
     }
 
     @Test
@@ -78,4 +243,9 @@ class PostsControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(postService, times(1)).deletePost(1);
     }
-}
\ No newline at end of file
+
+    private PostsSnapshot snapshotOf(MergedPost... posts) throws Exception {
+        List<MergedPost> list = Arrays.asList(posts);
+        return new PostsSnapshot(list, Instant.now(), objectMapper.writeValueAsBytes(list));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.pruebajava.integration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+class LoadDriver {
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final int port;
+
+    LoadDriver(int port) {
+        this.port = port;
+    }
+
+    URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Sends requests from {@code concurrency} workers until the duration elapses or the supplier returns null.
+     */
+    Result drive(int concurrency, Supplier<HttpRequest> request, Duration duration) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest next = request.get();
+                        if (next == null) {
+                            break;
+                        }
+                        long sent = System.nanoTime();
+                        int status = send(next);
+                        result.record(System.nanoTime() - sent, status);
+                    }
+                    return result;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            total.elapsedNanos = Math.min(duration.toNanos(), System.nanoTime() - start);
+            return total;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    static class Result {
+        long[] latencies = new long[1024];
+        int requests;
+        int clientErrors;
+        int serverErrors;
+        long elapsedNanos;
+
+        void record(long latencyNanos, int status) {
+            if (requests == latencies.length) {
+                latencies = Arrays.copyOf(latencies, requests * 2);
+            }
+            latencies[requests++] = latencyNanos;
+            if (status >= 500 || status == 0) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.requests; i++) {
+                record(other.latencies[i], 200);
+            }
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+        }
+
+        double percentileMillis(double percentile) {
+            if (requests == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, requests);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * requests) - 1;
+            return sorted[Math.max(0, Math.min(index, requests - 1))] / 1_000_000.0;
+        }
+
+        void print(String scenario, int concurrency) {
+            System.out.printf("%-20s c=%-4d %,8d req  %,10.1f req/s  p50=%7.2f ms  p99=%7.2f ms  p999=%7.2f ms  4xx=%d  5xx=%d%n",
+                scenario, concurrency, requests, requests / (elapsedNanos / 1e9),
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9), clientErrors, serverErrors);
+        }
+    }
+}
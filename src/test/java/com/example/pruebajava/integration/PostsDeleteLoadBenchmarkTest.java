@@ -0,0 +1,97 @@
+package com.example.pruebajava.integration;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs in its own context so deletions never shrink the snapshot measured by {@link PostsLoadBenchmarkTest}.
+ * Each phase rebuilds the snapshot and deletes each post still in it at most once, so no request turns into a local 404.
+ * Posts deleted in earlier phases stay out of the cached upstream list, so every phase consumes part of the dataset.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "logging.level.com.example.pruebajava=WARN")
+@ActiveProfiles("test")
+class PostsDeleteLoadBenchmarkTest {
+    private static final int POSTS = Integer.getInteger("load.delete-posts", 10_000);
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("load.concurrency", "1,8,32,64").split(","))
+        .mapToInt(level -> Integer.parseInt(level.trim()))
+        .toArray();
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 10));
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+    private static final StubUpstream.Latency LATENCY =
+        StubUpstream.Latency.logNormal(Long.getLong("load.latency-ms", 20), 0.5);
+
+    @RegisterExtension
+    static final StubUpstream upstream = StubUpstream.builder()
+        .posts(POSTS)
+        .users(Math.max(1, POSTS / 10))
+        .latency(StubUpstream.Endpoint.POSTS, LATENCY)
+        .latency(StubUpstream.Endpoint.USERS, LATENCY)
+        .latency(StubUpstream.Endpoint.COMMENTS, LATENCY)
+        .latency(StubUpstream.Endpoint.DELETE, LATENCY)
+        .errorRate(StubUpstream.Endpoint.DELETE, Double.parseDouble(System.getProperty("load.error-rate", "0.01")))
+        .start();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PostService postService;
+
+    private final Queue<Integer> remainingIds = new ConcurrentLinkedQueue<>();
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream.registerProperties(registry);
+    }
+
+    @Test
+    void loadDeletePosts() throws Exception {
+        LoadDriver driver = new LoadDriver(port);
+        Supplier<HttpRequest> request = () -> {
+            Integer id = remainingIds.poll();
+            return id == null ? null : HttpRequest.newBuilder(driver.uri("/posts/" + id)).DELETE().build();
+        };
+        for (int concurrency : CONCURRENCY) {
+            reset();
+            driver.drive(concurrency, request, WARM_UP);
+            reset();
+            LoadDriver.Result result = driver.drive(concurrency, request, DURATION);
+            result.print("DELETE /posts/{id}", concurrency);
+            assertTrue(result.requests > 0);
+            assertEquals(0, result.clientErrors);
+        }
+    }
+
+    private void reset() {
+        List<Integer> ids = postService.rebuildSnapshot().getPosts().stream()
+            .map(MergedPost::getId)
+            .collect(Collectors.toCollection(ArrayList::new));
+        Collections.shuffle(ids);
+        remainingIds.clear();
+        remainingIds.addAll(ids);
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.pruebajava.integration;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 class PostsIntegrationTest {
+    @RegisterExtension
+    static final StubUpstream upstream = StubUpstream.builder().start();
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream.registerProperties(registry);
+    }
 
     @Autowired
     private TestRestTemplate restTemplate;
@@ -31,6 +42,31 @@ class PostsIntegrationTest {
         assertTrue(responseBody.contains("\"comments\""));
     }
 
+    @Test
+    void testIndexedQueries_IntegrationTest() {
+        ResponseEntity<String> byUser = restTemplate.getForEntity("/posts?userId=2&fields=id,userId", String.class);
+        assertEquals(HttpStatus.OK, byUser.getStatusCode());
+        assertTrue(byUser.getBody().startsWith("[{\"id\":2,\"userId\":2}"));
+
+        ResponseEntity<String> search = restTemplate.getForEntity("/posts/search?q=body 42&fields=id", String.class);
+        assertEquals(HttpStatus.OK, search.getStatusCode());
+        assertTrue(search.getBody().contains("{\"id\":9}"));
+
+        ResponseEntity<String> blank = restTemplate.getForEntity("/posts/search?q= ", String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, blank.getStatusCode());
+    }
+
+    @Test
+    void testGetPost_IntegrationTest() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/posts/5?fields=id,user.id,comments.postId", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().startsWith("{\"id\":5,\"user\":{\"id\":5},\"comments\":[{\"postId\":5}"));
+
+        ResponseEntity<String> missing = restTemplate.getForEntity("/posts/99999", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertTrue(missing.getBody().contains("POST_NOT_FOUND"));
+    }
+
     @Test
     void testDeletePost_IntegrationTest() {
         ResponseEntity<Void> response = restTemplate.exchange("/posts/1", 
@@ -0,0 +1,80 @@
+package com.example.pruebajava.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "logging.level.com.example.pruebajava=WARN")
+@ActiveProfiles("test")
+class PostsLoadBenchmarkTest {
+    private static final int POSTS = Integer.getInteger("load.posts", 100);
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("load.concurrency", "1,8,32,64").split(","))
+        .mapToInt(level -> Integer.parseInt(level.trim()))
+        .toArray();
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 10));
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+    private static final StubUpstream.Latency LATENCY =
+        StubUpstream.Latency.logNormal(Long.getLong("load.latency-ms", 20), 0.5);
+
+    @RegisterExtension
+    static final StubUpstream upstream = StubUpstream.builder()
+        .posts(POSTS)
+        .users(Math.max(1, POSTS / 10))
+        .latency(StubUpstream.Endpoint.POSTS, LATENCY)
+        .latency(StubUpstream.Endpoint.USERS, LATENCY)
+        .latency(StubUpstream.Endpoint.COMMENTS, LATENCY)
+        .start();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream.registerProperties(registry);
+    }
+
+    @Test
+    void loadGetPosts() throws Exception {
+        for (int concurrency : CONCURRENCY) {
+            LoadDriver.Result result = run(concurrency, () -> HttpRequest.newBuilder(uri("/posts")).GET().build());
+            result.print("GET /posts", concurrency);
+            assertEquals(0, result.serverErrors);
+        }
+    }
+
+    @Test
+    void loadGetPost() throws Exception {
+        for (int concurrency : CONCURRENCY) {
+            LoadDriver.Result result = run(concurrency, () -> HttpRequest.newBuilder(
+                uri("/posts/" + ThreadLocalRandom.current().nextInt(1, POSTS + 1))).GET().build());
+            result.print("GET /posts/{id}", concurrency);
+            assertEquals(0, result.serverErrors);
+        }
+    }
+
+    private LoadDriver.Result run(int concurrency, Supplier<HttpRequest> request) throws Exception {
+        LoadDriver driver = new LoadDriver(port);
+        driver.drive(concurrency, request, WARM_UP);
+        return driver.drive(concurrency, request, DURATION);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.pruebajava.integration;
+
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Register as a static {@code @RegisterExtension} field and call {@link #registerProperties} from the test's
+ * {@code @DynamicPropertySource}; the stub stops after the test class.
+ */
+class StubUpstream implements AutoCloseable, AfterAllCallback {
+
+    enum Endpoint {
+        POSTS,
+        USERS,
+        COMMENTS,
+        DELETE
+    }
+
+    @FunctionalInterface
+    interface Latency {
+        long nextMillis(ThreadLocalRandom random);
+
+        static Latency none() {
+            return random -> 0;
+        }
+
+        static Latency fixed(long millis) {
+            return random -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return random -> random.nextLong(minMillis, maxMillis + 1);
+        }
+
+        static Latency logNormal(double medianMillis, double sigma) {
+            return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    private static final Pattern USER_PATH = Pattern.compile("/users/(\\d+)");
+    private static final Pattern POST_PATH = Pattern.compile("/posts/(\\d+)");
+    private static final Pattern POST_COMMENTS_PATH = Pattern.compile("/posts/(\\d+)/comments");
+    private static final Pattern POST_ID_PARAM = Pattern.compile("postId=(\\d+)");
+
+    private final int postCount;
+    private final int userCount;
+    private final Map<Endpoint, Latency> latencies;
+    private final Map<Endpoint, Double> errorRates;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] postsJson;
+    private final List<Post> posts;
+    private final byte[] commentsJson;
+    private final List<List<Comment>> commentsByPost;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-upstream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer server;
+
+    private StubUpstream(Builder builder) throws IOException {
+        this.postCount = builder.posts;
+        this.userCount = builder.users;
+        this.latencies = builder.latencies;
+        this.errorRates = builder.errorRates;
+
+        posts = new ArrayList<>(postCount);
+        List<Comment> comments = new ArrayList<>(postCount * builder.commentsPerPost);
+        commentsByPost = new ArrayList<>(postCount);
+        for (int id = 1; id <= postCount; id++) {
+            Post post = new Post();
+            post.setId(id);
+            post.setUserId(1 + (id - 1) % userCount);
+            post.setTitle("title " + id);
+            post.setBody("body of post " + id);
+            posts.add(post);
+            List<Comment> postComments = new ArrayList<>(builder.commentsPerPost);
+            for (int c = 0; c < builder.commentsPerPost; c++) {
+                int commentId = (id - 1) * builder.commentsPerPost + c + 1;
+                postComments.add(new Comment(id, commentId, "comment " + commentId,
+                    "commenter" + c + "@example.com", "comment body " + commentId));
+            }
+            commentsByPost.add(postComments);
+            comments.addAll(postComments);
+        }
+        postsJson = toJson(posts);
+        commentsJson = toJson(comments);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    int postCount() {
+        return postCount;
+    }
+
+    void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("external.api.base-url", this::baseUrl);
+        registry.add("posts.snapshot.file", StubUpstream::tempSnapshotFile);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static String tempSnapshotFile() {
+        try {
+            return Files.createTempDirectory("posts-snapshot").resolve("posts-snapshot.bin").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            boolean delete = "DELETE".equals(exchange.getRequestMethod());
+            Endpoint endpoint = endpointFor(path, delete);
+            if (endpoint == null) {
+                send(exchange, 404, "{}".getBytes());
+                return;
+            }
+            simulateLatency(endpoint);
+            if (ThreadLocalRandom.current().nextDouble() < errorRates.getOrDefault(endpoint, 0.0)) {
+                send(exchange, 503, "{}".getBytes());
+                return;
+            }
+
+            Matcher matcher;
+            if (delete) {
+                matcher = POST_PATH.matcher(path);
+                matcher.matches();
+                send(exchange, isPost(Integer.parseInt(matcher.group(1))) ? 200 : 404, "{}".getBytes());
+            } else if (endpoint == Endpoint.POSTS && (matcher = POST_PATH.matcher(path)).matches()) {
+                int postId = Integer.parseInt(matcher.group(1));
+                if (isPost(postId)) {
+                    send(exchange, 200, toJson(posts.get(postId - 1)));
+                } else {
+                    send(exchange, 404, "{}".getBytes());
+                }
+            } else if (endpoint == Endpoint.POSTS) {
+                send(exchange, 200, postsJson);
+            } else if (endpoint == Endpoint.USERS) {
+                matcher = USER_PATH.matcher(path);
+                matcher.matches();
+                int userId = Integer.parseInt(matcher.group(1));
+                if (userId < 1 || userId > userCount) {
+                    send(exchange, 404, "{}".getBytes());
+                } else {
+                    send(exchange, 200, toJson(new User(userId, "User " + userId, "user" + userId,
+                        "user" + userId + "@example.com")));
+                }
+            } else if ((matcher = POST_COMMENTS_PATH.matcher(path)).matches()) {
+                int postId = Integer.parseInt(matcher.group(1));
+                send(exchange, 200, toJson(isPost(postId) ? commentsByPost.get(postId - 1) : List.of()));
+            } else if (query == null || query.isEmpty()) {
+                send(exchange, 200, commentsJson);
+            } else {
+                Matcher params = POST_ID_PARAM.matcher(query);
+                List<Comment> selected = new ArrayList<>();
+                while (params.find()) {
+                    int postId = Integer.parseInt(params.group(1));
+                    if (isPost(postId)) {
+                        selected.addAll(commentsByPost.get(postId - 1));
+                    }
+                }
+                send(exchange, 200, toJson(selected));
+            }
+        }
+    }
+
+    private static Endpoint endpointFor(String path, boolean delete) {
+        if (delete) {
+            return POST_PATH.matcher(path).matches() ? Endpoint.DELETE : null;
+        }
+        if ("/posts".equals(path) || POST_PATH.matcher(path).matches()) {
+            return Endpoint.POSTS;
+        }
+        if (USER_PATH.matcher(path).matches()) {
+            return Endpoint.USERS;
+        }
+        if ("/comments".equals(path) || POST_COMMENTS_PATH.matcher(path).matches()) {
+            return Endpoint.COMMENTS;
+        }
+        return null;
+    }
+
+    private boolean isPost(int postId) {
+        return postId >= 1 && postId <= postCount;
+    }
+
+    private void simulateLatency(Endpoint endpoint) {
+        long millis = latencies.getOrDefault(endpoint, Latency.none()).nextMillis(ThreadLocalRandom.current());
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static class Builder {
+        private int posts = 100;
+        private int users = 10;
+        private int commentsPerPost = 5;
+        private final Map<Endpoint, Latency> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Double> errorRates = new EnumMap<>(Endpoint.class);
+
+        Builder posts(int posts) {
+            this.posts = posts;
+            return this;
+        }
+
+        Builder users(int users) {
+            this.users = users;
+            return this;
+        }
+
+        Builder commentsPerPost(int commentsPerPost) {
+            this.commentsPerPost = commentsPerPost;
+            return this;
+        }
+
+        Builder latency(Endpoint endpoint, Latency latency) {
+            latencies.put(endpoint, latency);
+            return this;
+        }
+
+        Builder errorRate(Endpoint endpoint, double errorRate) {
+            errorRates.put(endpoint, errorRate);
+            return this;
+        }
+
+        StubUpstream start() {
+            try {
+                return new StubUpstream(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.exception.BulkheadFullException;
+import com.example.pruebajava.exception.UserNotFoundException;
+import com.example.pruebajava.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockingExternalApiClientTest {
+    @Mock
+    ExternalApiService externalApiService;
+
+    @Test
+    void testGetUser_RunsOnUsersExecutor() {
+        User user = new User(1, null, null, null);
+        when(externalApiService.getUser(1)).thenReturn(user);
+
+        BlockingExternalApiClient client = new BlockingExternalApiClient(externalApiService, UpstreamExecutors.sameThread());
+
+        assertSame(user, client.getUser(1).join());
+    }
+
+    @Test
+    void testGetUser_PropagatesNotFound() {
+        when(externalApiService.getUser(999)).thenThrow(UserNotFoundException.forUserId(999));
+
+        BlockingExternalApiClient client = new BlockingExternalApiClient(externalApiService, UpstreamExecutors.sameThread());
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.getUser(999).join());
+        assertInstanceOf(UserNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void testGetUser_BulkheadFull() {
+        Executor direct = Runnable::run;
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        BlockingExternalApiClient client = new BlockingExternalApiClient(externalApiService,
+            new UpstreamExecutors(direct, rejecting, direct));
+
+        CompletableFuture<User> future = client.getUser(1);
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().contains("Too many concurrent calls"));
+        verify(externalApiService, never()).getUser(anyInt());
+    }
+}
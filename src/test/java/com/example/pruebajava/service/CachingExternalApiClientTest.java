@@ -0,0 +1,196 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.EntityCacheProperties;
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingExternalApiClientTest {
+    @Mock
+    ExternalApiClient delegate;
+
+    CachingExternalApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new CachingExternalApiClient(delegate, new EntityCacheProperties());
+    }
+
+    @Test
+    void testGetUser_CachedAfterFirstLoad() {
+        User user = new User(1, null, null, null);
+        when(delegate.getUser(1)).thenReturn(CompletableFuture.completedFuture(user));
+
+        assertSame(user, client.getUser(1).join());
+        assertSame(user, client.getUser(1).join());
+
+        verify(delegate, times(1)).getUser(1);
+    }
+
+    @Test
+    void testGetUser_FailuresAreNotCached() {
+        User user = new User(1, null, null, null);
+        when(delegate.getUser(1))
+            .thenReturn(CompletableFuture.failedFuture(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")))
+            .thenReturn(CompletableFuture.completedFuture(user));
+
+        assertThrows(Exception.class, () -> client.getUser(1).join());
+        assertSame(user, client.getUser(1).join());
+
+        verify(delegate, times(2)).getUser(1);
+    }
+
+    @Test
+    void testGetCommentsForPosts_LoadsOnlyMissingPosts() {
+        when(delegate.getCommentsForPosts(Arrays.asList(1, 2)))
+            .thenReturn(CompletableFuture.completedFuture(Arrays.asList(comment(1, 10))));
+        when(delegate.getCommentsForPosts(Arrays.asList(3)))
+            .thenReturn(CompletableFuture.completedFuture(Arrays.asList(comment(3, 30))));
+
+        client.getCommentsForPosts(Arrays.asList(1, 2)).join();
+        List<Comment> comments = client.getCommentsForPosts(Arrays.asList(1, 2, 3)).join();
+
+        assertEquals(Arrays.asList(10, 30), Arrays.asList(comments.get(0).getId(), comments.get(1).getId()));
+        verify(delegate, times(1)).getCommentsForPosts(Arrays.asList(3));
+    }
+
+    @Test
+    void testGetComments_WarmsPerPostEntries() {
+        when(delegate.getComments())
+            .thenReturn(CompletableFuture.completedFuture(Arrays.asList(comment(1, 10), comment(2, 20))));
+
+        client.getComments().join();
+        List<Comment> comments = client.getCommentsForPost(2).join();
+
+        assertEquals(20, comments.get(0).getId());
+        verify(delegate, never()).getCommentsForPost(anyInt());
+    }
+
+    @Test
+    void testGetComments_CachesEmptyListsForKnownPostsWithoutDuplicatingBulk() {
+        Post post1 = new Post();
+        post1.setId(1);
+        Post post2 = new Post();
+        post2.setId(2);
+        when(delegate.getPosts()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(post1, post2)));
+        when(delegate.getComments()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(comment(1, 10))));
+
+        client.getPosts().join();
+        client.getComments().join();
+
+        assertEquals(1, client.getCommentsForPosts(Arrays.asList(1, 2)).join().size());
+        assertFalse(client.caches().containsKey("upstream.comments.all"));
+        verify(delegate, never()).getCommentsForPosts(any());
+        verify(delegate, never()).getCommentsForPost(anyInt());
+    }
+
+    @Test
+    void testGetComments_AnsweredFromPerPostEntriesWhileEveryPostHasOne() {
+        Post post1 = new Post();
+        post1.setId(1);
+        Post post2 = new Post();
+        post2.setId(2);
+        when(delegate.getPosts()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(post1, post2)));
+        when(delegate.getComments()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(comment(1, 10))));
+
+        client.getPosts().join();
+        List<Comment> loaded = client.getComments().join();
+        List<Comment> cached = client.getComments().join();
+        client.caches().get("upstream.comments").synchronous().invalidate(2);
+        client.getComments().join();
+
+        assertEquals(loaded, cached);
+        verify(delegate, times(2)).getComments();
+    }
+
+    @Test
+    void testGetComments_LoadsBulkWhenPostsAreNotCached() {
+        when(delegate.getComments()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(comment(1, 10))));
+
+        client.getComments().join();
+        client.getComments().join();
+
+        verify(delegate, times(2)).getComments();
+    }
+
+    @Test
+    void testGetComments_PoolsCommenterStringsBeforeCaching() {
+        Comment first = new Comment(1, 10, new String("Commenter"), new String("commenter@example.com"), "a");
+        Comment second = new Comment(2, 20, new String("Commenter"), new String("commenter@example.com"), "b");
+        when(delegate.getComments()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(first, second)));
+
+        List<Comment> comments = client.getComments().join();
+
+        assertSame(comments.get(0).getEmail(), client.getCommentsForPost(2).join().get(0).getEmail());
+        assertSame(comments.get(1), client.getCommentsForPost(2).join().get(0));
+    }
+
+    @Test
+    void testCommentsCache_IsExpireOnly() {
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.getComments().setRefreshAfterWrite(Duration.ofMinutes(1));
+
+        CachingExternalApiClient refreshing = new CachingExternalApiClient(delegate, properties);
+
+        assertFalse(refreshing.caches().get("upstream.comments").synchronous().policy().refreshAfterWrite().isPresent());
+        assertTrue(refreshing.caches().get("upstream.users").synchronous().policy().refreshAfterWrite().isPresent());
+    }
+
+    @Test
+    void testDeletePost_RemovesPostFromCachedList() {
+        Post post1 = new Post();
+        post1.setId(1);
+        Post post2 = new Post();
+        post2.setId(2);
+        when(delegate.getPosts()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(post1, post2)));
+        when(delegate.deletePost(1)).thenReturn(CompletableFuture.completedFuture(null));
+
+        client.getPosts().join();
+        client.deletePost(1).join();
+        List<Post> posts = client.getPosts().join();
+
+        assertEquals(1, posts.size());
+        assertEquals(2, posts.get(0).getId());
+        verify(delegate, times(1)).getPosts();
+    }
+
+    @Test
+    void testGetPost_AnsweredFromCachedListThenPerId() {
+        Post post1 = new Post();
+        post1.setId(1);
+        Post post2 = new Post();
+        post2.setId(2);
+        when(delegate.getPost(2)).thenReturn(CompletableFuture.completedFuture(post2));
+        when(delegate.getPosts()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(post1)));
+
+        assertSame(post2, client.getPost(2).join());
+        assertSame(post2, client.getPost(2).join());
+        client.getPosts().join();
+        assertSame(post1, client.getPost(1).join());
+
+        verify(delegate, times(1)).getPost(2);
+        verify(delegate, never()).getPost(1);
+    }
+
+    private static Comment comment(int postId, int id) {
+        Comment comment = new Comment(postId, id, null, null, null);
+        return comment;
+    }
+}
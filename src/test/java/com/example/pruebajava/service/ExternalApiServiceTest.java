@@ -17,6 +17,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,16 +44,9 @@ class ExternalApiServiceTest {
         samplePost.setTitle("Sample Post");
         samplePost.setBody("Sample body");
 
-        sampleUser = new User();
-        sampleUser.setId(1);
-        sampleUser.setName("John Doe");
-        sampleUser.setEmail("john@example.com");
+        sampleUser = new User(1, "John Doe", null, "john@example.com");
 
-        sampleComment = new Comment();
-        sampleComment.setId(1);
-        sampleComment.setPostId(1);
-        sampleComment.setName("Comment Name");
-        sampleComment.setBody("Comment body");
+        sampleComment = new Comment(1, 1, "Comment Name", null, "Comment body");
     }
 
     @Test
@@ -68,6 +62,18 @@ class ExternalApiServiceTest {
         assertEquals("Sample Post", result.get(0).getTitle());
     }
 
+    @Test
+    void testGetCommentsForPosts_UsesSingleBatchedRequest() {
+        Comment[] comments = {sampleComment};
+        ResponseEntity<Comment[]> response = new ResponseEntity<>(comments, HttpStatus.OK);
+        when(restTemplate.getForEntity(endsWith("/comments?postId=1&postId=2"), eq(Comment[].class))).thenReturn(response);
+
+        List<Comment> result = externalApiService.getCommentsForPosts(Arrays.asList(1, 2));
+
+        assertEquals(1, result.size());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(Comment[].class));
+    }
+
     @Test
     void testGetUser_NotFound() {
         HttpClientErrorException notFoundException = new HttpClientErrorException(HttpStatus.NOT_FOUND, "User not found");
@@ -78,6 +84,14 @@ class ExternalApiServiceTest {
         });
     }
 
+    @Test
+    void testGetPost_NotFound() {
+        HttpClientErrorException notFoundException = new HttpClientErrorException(HttpStatus.NOT_FOUND, "Post not found");
+        when(restTemplate.getForEntity(endsWith("/posts/999"), eq(Post.class))).thenThrow(notFoundException);
+
+        assertThrows(PostNotFoundException.class, () -> externalApiService.getPost(999));
+    }
+
     @Test
     void testDeletePost_NotFound() {
         HttpClientErrorException notFoundException = new HttpClientErrorException(HttpStatus.NOT_FOUND, "Post not found");
@@ -0,0 +1,129 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.HedgingProperties;
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HedgingExternalApiClientTest {
+    @Mock
+    ExternalApiClient delegate;
+
+    HedgingProperties properties = new HedgingProperties();
+    User user = new User(1, "Lionel Messi", null, null);
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setInitialDelay(Duration.ofMillis(10));
+    }
+
+    @Test
+    void testGetUser_HedgeWinsWhenPrimaryIsSlow() {
+        when(delegate.getUser(1))
+            .thenReturn(new CompletableFuture<>())
+            .thenReturn(CompletableFuture.completedFuture(user));
+        HedgingExternalApiClient client = new HedgingExternalApiClient(delegate, properties, UpstreamExecutors.sameThread());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        client.bindTo(registry);
+
+        User result = client.getUser(1).orTimeout(2, TimeUnit.SECONDS).join();
+
+        assertSame(user, result);
+        verify(delegate, times(2)).getUser(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (registry.get("upstream.hedges").tag("outcome", "won").functionCounter().count() == 0
+            && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, registry.get("upstream.hedges").tag("outcome", "won").functionCounter().count());
+    }
+
+    @Test
+    void testGetUser_FastPrimaryIsNotHedged() throws Exception {
+        when(delegate.getUser(1)).thenReturn(CompletableFuture.completedFuture(user));
+        HedgingExternalApiClient client = new HedgingExternalApiClient(delegate, properties, UpstreamExecutors.sameThread());
+
+        assertSame(user, client.getUser(1).join());
+        Thread.sleep(50);
+
+        verify(delegate, times(1)).getUser(1);
+    }
+
+    @Test
+    void testGetUser_ExhaustedBudgetSkipsHedge() throws Exception {
+        properties.setBudgetRatio(0);
+        properties.setBudgetMaxTokens(0);
+        CompletableFuture<User> primary = new CompletableFuture<>();
+        when(delegate.getUser(1)).thenReturn(primary);
+        HedgingExternalApiClient client = new HedgingExternalApiClient(delegate, properties, UpstreamExecutors.sameThread());
+
+        CompletableFuture<User> result = client.getUser(1);
+        Thread.sleep(50);
+        primary.complete(user);
+
+        assertSame(user, result.join());
+        verify(delegate, times(1)).getUser(1);
+    }
+
+    @Test
+    void testGetUser_SlowHedgeDoesNotHoldUpOtherHedges() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            when(delegate.getUser(1))
+                .thenReturn(new CompletableFuture<>())
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return CompletableFuture.completedFuture(user);
+                });
+            when(delegate.getUser(2))
+                .thenReturn(new CompletableFuture<>())
+                .thenReturn(CompletableFuture.completedFuture(user));
+            HedgingExternalApiClient client = new HedgingExternalApiClient(delegate, properties,
+                new UpstreamExecutors(pool, pool, pool));
+
+            CompletableFuture<User> slow = client.getUser(1);
+            verify(delegate, timeout(1000).times(2)).getUser(1);
+
+            assertSame(user, client.getUser(2).get(1, TimeUnit.SECONDS));
+            assertFalse(slow.isDone());
+            release.countDown();
+            assertSame(user, slow.get(1, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHedgeDelay_FollowsObservedPercentile() {
+        properties.setMinSamples(10);
+        properties.setDelayPercentile(90);
+        HedgingExternalApiClient client = new HedgingExternalApiClient(delegate, properties, UpstreamExecutors.sameThread());
+        LatencyTracker tracker = new LatencyTracker(100, 90);
+
+        assertEquals(10, client.hedgeDelayMillis(tracker));
+        for (int millis = 1; millis <= 100; millis++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertEquals(90, client.hedgeDelayMillis(tracker));
+    }
+}
@@ -1,22 +1,39 @@
 package com.example.pruebajava.service;
 
+import com.example.pruebajava.config.CommentsProperties;
+import com.example.pruebajava.config.EntityCacheProperties;
+import com.example.pruebajava.config.SnapshotProperties;
+import com.example.pruebajava.config.UpstreamExecutors;
 import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.dto.PostsPage;
+import com.example.pruebajava.exception.ApiException;
+import com.example.pruebajava.exception.ExternalServiceException;
 import com.example.pruebajava.exception.PostNotFoundException;
 import com.example.pruebajava.exception.UserNotFoundException;
 import com.example.pruebajava.model.Comment;
 import com.example.pruebajava.model.Post;
 import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,7 +41,12 @@ class PostServiceTest {
     @Mock
     ExternalApiService externalApiService;
 
-    @InjectMocks
+    CommentsProperties commentsProperties = new CommentsProperties();
+    SnapshotProperties snapshotProperties = new SnapshotProperties();
+    EntityCacheProperties cacheProperties = new EntityCacheProperties();
+    CacheManager cacheManager = new ConcurrentMapCacheManager(PostService.POST_PAGES);
+    MutableClock clock = new MutableClock();
+
     PostService postService;
 
     private Post samplePost;
@@ -33,24 +55,20 @@ class PostServiceTest {
 
     @BeforeEach
     void setUp() {
+        postService = new PostService(
+            new BlockingExternalApiClient(externalApiService, UpstreamExecutors.sameThread()), commentsProperties,
+            snapshotProperties, cacheProperties, clock, new ObjectMapper(), PostsSnapshotStore.disabled(), cacheManager,
+            new SimpleMeterRegistry());
+
         samplePost = new Post();
         samplePost.setId(1);
         samplePost.setUserId(1);
         samplePost.setTitle("Sample Post Title");
         samplePost.setBody("Sample post body content");
 
-        sampleUser = new User();
-        sampleUser.setId(1);
-        sampleUser.setName("Lionel Messi");
-        sampleUser.setUsername("lionelmessi");
-        sampleUser.setEmail("lionel.messi@example.com");
+        sampleUser = new User(1, "Lionel Messi", "lionelmessi", "lionel.messi@example.com");
 
-        sampleComment = new Comment();
-        sampleComment.setId(1);
-        sampleComment.setPostId(1);
-        sampleComment.setName("Comment Name");
-        sampleComment.setEmail("comment@example.com");
-        sampleComment.setBody("Comment body content");
+        sampleComment = new Comment(1, 1, "Comment Name", "comment@example.com", "Comment body content");
     }
 
     @Test
@@ -60,7 +78,7 @@ class PostServiceTest {
 
         when(externalApiService.getPosts()).thenReturn(posts);
         when(externalApiService.getUser(1)).thenReturn(sampleUser);
-        when(externalApiService.getCommentsForPost(1)).thenReturn(comments);
+        when(externalApiService.getComments()).thenReturn(comments);
 
         List<MergedPost> result = postService.getAllMergedPosts();
 
@@ -69,6 +87,76 @@ class PostServiceTest {
         assertEquals("Sample Post Title", result.get(0).getTitle());
         assertEquals("Lionel Messi", result.get(0).getUser().getName());
         assertEquals(1, result.get(0).getComments().size());
+        verify(externalApiService, never()).getCommentsForPost(anyInt());
+    }
+
+    @Test
+    void testGetAllMergedPosts_SnapshotSharesCachedComments() {
+        Comment other = new Comment(1, 2, new String("Comment Name"), new String("comment@example.com"), "Other body");
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment, other));
+        CachingExternalApiClient cachingClient = new CachingExternalApiClient(
+            new BlockingExternalApiClient(externalApiService, UpstreamExecutors.sameThread()), cacheProperties);
+        postService = new PostService(cachingClient, commentsProperties, snapshotProperties, cacheProperties, clock,
+            new ObjectMapper(), PostsSnapshotStore.disabled(), cacheManager, new SimpleMeterRegistry());
+
+        List<Comment> merged = postService.getAllMergedPosts().get(0).getComments();
+        List<Comment> cached = cachingClient.getCommentsForPost(1).join();
+
+        assertSame(cached.get(0), merged.get(0));
+        assertSame(cached.get(1), merged.get(1));
+        assertSame(merged.get(0).getEmail(), merged.get(1).getEmail());
+    }
+
+    @Test
+    void testGetAllMergedPosts_PerPostMode() {
+        commentsProperties.setFetchMode(CommentsProperties.FetchMode.PER_POST);
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getCommentsForPost(1)).thenReturn(Arrays.asList(sampleComment));
+
+        List<MergedPost> result = postService.getAllMergedPosts();
+
+        assertEquals(1, result.get(0).getComments().size());
+        verify(externalApiService, never()).getComments();
+    }
+
+    @Test
+    void testGetAllMergedPosts_BatchedMode() {
+        Post post2 = new Post();
+        post2.setId(2);
+        post2.setUserId(1);
+        Post post3 = new Post();
+        post3.setId(3);
+        post3.setUserId(1);
+
+        Comment comment3 = new Comment(3, 3, null, null, null);
+
+        commentsProperties.setFetchMode(CommentsProperties.FetchMode.BATCHED);
+        commentsProperties.setBatchSize(2);
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, post2, post3));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getCommentsForPosts(Arrays.asList(1, 2))).thenReturn(Arrays.asList(sampleComment));
+        when(externalApiService.getCommentsForPosts(Arrays.asList(3))).thenReturn(Arrays.asList(comment3));
+
+        List<MergedPost> result = postService.getAllMergedPosts();
+
+        assertEquals(1, result.get(0).getComments().size());
+        assertEquals(0, result.get(1).getComments().size());
+        assertEquals(3, result.get(2).getComments().get(0).getId());
+        verify(externalApiService, times(2)).getCommentsForPosts(anyList());
+    }
+
+    @Test
+    void testGetAllMergedPosts_BulkCommentsFailureFallsBackToEmpty() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenThrow(ExternalServiceException.serviceUnavailable("JSONPlaceholder Comments API"));
+
+        List<MergedPost> result = postService.getAllMergedPosts();
+
+        assertEquals(0, result.get(0).getComments().size());
     }
 
     @Test
@@ -82,6 +170,275 @@ class PostServiceTest {
         });
     }
 
+    @Test
+    void testGetAllMergedPosts_ServesSnapshotWithoutCallingUpstream() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+
+        List<MergedPost> first = postService.getAllMergedPosts();
+        clock.advance(Duration.ofMinutes(10));
+        List<MergedPost> second = postService.getAllMergedPosts();
+
+        assertSame(first, second);
+        verify(externalApiService, times(1)).getPosts();
+    }
+
+    @Test
+    void testRefreshSnapshot_FailureKeepsServingStaleSnapshot() {
+        when(externalApiService.getPosts())
+            .thenReturn(Arrays.asList(samplePost))
+            .thenThrow(ExternalServiceException.serviceUnavailable("JSONPlaceholder Posts API"));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+
+        List<MergedPost> built = postService.getAllMergedPosts();
+        postService.refreshSnapshot();
+
+        assertSame(built, postService.getAllMergedPosts());
+        verify(externalApiService, times(2)).getPosts();
+    }
+
+    @Test
+    void testGetAllMergedPosts_RebuildsWhenSnapshotExceedsMaxStaleAge() {
+        snapshotProperties.setMaxStaleAge(Duration.ofMinutes(5));
+        when(externalApiService.getPosts())
+            .thenReturn(Arrays.asList(samplePost))
+            .thenThrow(ExternalServiceException.serviceUnavailable("JSONPlaceholder Posts API"));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+
+        postService.getAllMergedPosts();
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThrows(ExternalServiceException.class, () -> postService.getAllMergedPosts());
+    }
+
+    @Test
+    void testGetSnapshot_ETagTracksContent() {
+        Post otherPost = new Post();
+        otherPost.setId(2);
+        otherPost.setUserId(1);
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, otherPost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+
+        String built = postService.getSnapshot().getETag();
+        postService.refreshSnapshot();
+        String refreshed = postService.getSnapshot().getETag();
+        postService.deletePost(2);
+
+        assertEquals(built, refreshed);
+        assertNotEquals(built, postService.getSnapshot().getETag());
+    }
+
+    @Test
+    void testRestoreSnapshot_ServesPersistedSnapshotWithoutUpstream(@TempDir Path tempDir) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        PostsSnapshotStore store = new PostsSnapshotStore(tempDir.resolve("posts.bin"), objectMapper);
+        List<MergedPost> persisted = Arrays.asList(new MergedPost(1, 1, "Persisted", "body", sampleUser, List.of()));
+        store.save(new PostsSnapshot(persisted, clock.instant(), objectMapper.writeValueAsBytes(persisted)));
+        PostService restarted = new PostService(
+            new BlockingExternalApiClient(externalApiService, UpstreamExecutors.sameThread()), commentsProperties,
+            snapshotProperties, cacheProperties, clock, objectMapper, store, cacheManager, new SimpleMeterRegistry());
+
+        clock.advance(Duration.ofMinutes(5));
+        restarted.restoreSnapshot();
+
+        assertEquals("Persisted", restarted.getAllMergedPosts().get(0).getTitle());
+        verifyNoInteractions(externalApiService);
+    }
+
+    @Test
+    void testGetMergedPostsPage_FetchesOnlyPageEntities() {
+        Post post2 = new Post();
+        post2.setId(2);
+        post2.setUserId(2);
+        Post post3 = new Post();
+        post3.setId(3);
+        post3.setUserId(3);
+
+        User user2 = new User(2, null, null, null);
+
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, post2, post3));
+        when(externalApiService.getUser(2)).thenReturn(user2);
+        when(externalApiService.getCommentsForPosts(Arrays.asList(2))).thenReturn(Arrays.asList());
+
+        PostsPage page = postService.getMergedPostsPage(PostService.encodeCursor(1), 1, FetchPlan.ALL);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(2, page.getItems().get(0).getId());
+        assertEquals(2, PostService.decodeCursor(page.getNextCursor()));
+        verify(externalApiService, never()).getUser(1);
+        verify(externalApiService, never()).getUser(3);
+        verify(externalApiService, never()).getComments();
+    }
+
+    @Test
+    void testGetMergedPostsPage_LastPageHasNoCursor() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getCommentsForPosts(Arrays.asList(1))).thenReturn(Arrays.asList(sampleComment));
+
+        PostsPage page = postService.getMergedPostsPage(null, 20, FetchPlan.ALL);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1, page.getItems().get(0).getComments().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetMergedPostsPage_InvalidCursor() {
+        assertThrows(ApiException.class, () -> postService.getMergedPostsPage("not-a-cursor", 20, FetchPlan.ALL));
+        verifyNoInteractions(externalApiService);
+    }
+
+    @Test
+    void testGetSnapshot_PostsOnlyPlanSkipsUsersAndComments() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+
+        PostsSnapshot titles = postService.getSnapshot(FetchPlan.POSTS_ONLY);
+        PostsSnapshot cached = postService.getSnapshot(FetchPlan.POSTS_ONLY);
+
+        assertSame(titles, cached);
+        assertNull(titles.getPosts().get(0).getUser());
+        assertEquals("[{\"id\":1,\"userId\":1,\"title\":\"Sample Post Title\",\"body\":\"Sample post body content\"}]",
+            new String(titles.body(null)));
+        verify(externalApiService, times(1)).getPosts();
+        verify(externalApiService, never()).getUser(anyInt());
+        verify(externalApiService, never()).getComments();
+    }
+
+    @Test
+    void testGetSnapshot_PartialPlanServedFromCompleteSnapshot() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+        PostsSnapshot complete = postService.getSnapshot();
+
+        assertSame(complete, postService.getSnapshot(FetchPlan.USERS));
+        verify(externalApiService, times(1)).getPosts();
+    }
+
+    @Test
+    void testGetMergedPostsPage_UsersOnlyPlanSkipsComments() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+
+        PostsPage page = postService.getMergedPostsPage(null, 20, FetchPlan.USERS);
+
+        assertEquals("Lionel Messi", page.getItems().get(0).getUser().getName());
+        assertTrue(page.getItems().get(0).getComments().isEmpty());
+        verify(externalApiService, never()).getCommentsForPosts(any());
+    }
+
+    @Test
+    void testGetMergedPost_FetchesOnlyThatPostWithoutSnapshot() {
+        when(externalApiService.getPost(1)).thenReturn(samplePost);
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getCommentsForPost(1)).thenReturn(Arrays.asList(sampleComment));
+
+        MergedPost post = postService.getMergedPost(1, FetchPlan.ALL);
+
+        assertEquals("Lionel Messi", post.getUser().getName());
+        assertEquals(1, post.getComments().size());
+        verify(externalApiService, never()).getPosts();
+        verify(externalApiService, never()).getComments();
+    }
+
+    @Test
+    void testGetMergedPost_PostsOnlyPlanSkipsUserAndComments() {
+        when(externalApiService.getPost(1)).thenReturn(samplePost);
+
+        MergedPost post = postService.getMergedPost(1, FetchPlan.POSTS_ONLY);
+
+        assertNull(post.getUser());
+        assertTrue(post.getComments().isEmpty());
+        verify(externalApiService, never()).getUser(anyInt());
+        verify(externalApiService, never()).getCommentsForPost(anyInt());
+    }
+
+    @Test
+    void testGetMergedPost_ServedFromSnapshot() {
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+        PostsSnapshot complete = postService.getSnapshot();
+
+        assertSame(complete.getPosts().get(0), postService.getMergedPost(1, FetchPlan.USERS));
+        assertThrows(PostNotFoundException.class, () -> postService.getMergedPost(99, FetchPlan.ALL));
+        verify(externalApiService, never()).getPost(anyInt());
+    }
+
+    @Test
+    void testGetMergedPost_CachesPerIdAndPlanUntilDeleted() {
+        when(externalApiService.getPost(1)).thenReturn(samplePost);
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getCommentsForPost(1)).thenReturn(Arrays.asList(sampleComment));
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+
+        MergedPost first = postService.getMergedPost(1, FetchPlan.ALL);
+        assertSame(first, postService.getMergedPost(1, FetchPlan.ALL));
+        assertNull(postService.getMergedPost(1, FetchPlan.POSTS_ONLY).getUser());
+        verify(externalApiService, times(2)).getPost(1);
+
+        postService.deletePost(1);
+
+        assertNotSame(first, postService.getMergedPost(1, FetchPlan.ALL));
+        verify(externalApiService, times(3)).getPost(1);
+    }
+
+    @Test
+    void testGetMergedPost_CacheFollowsMergedSpecWhenRefreshIsDisabled() {
+        snapshotProperties.setRefreshInterval(Duration.ZERO);
+        cacheProperties.getMerged().setExpireAfterWrite(Duration.ofMinutes(2));
+        setUp();
+        when(externalApiService.getPost(1)).thenReturn(samplePost);
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
+
+        MergedPost post = postService.getMergedPost(1, FetchPlan.POSTS_ONLY);
+        assertSame(post, postService.getMergedPost(1, FetchPlan.POSTS_ONLY));
+        PostsSnapshot partial = postService.getSnapshot(FetchPlan.POSTS_ONLY);
+        clock.advance(Duration.ofMinutes(1));
+
+        assertSame(partial, postService.getSnapshot(FetchPlan.POSTS_ONLY));
+        clock.advance(Duration.ofMinutes(2));
+        assertNotSame(partial, postService.getSnapshot(FetchPlan.POSTS_ONLY));
+        verify(externalApiService, times(1)).getPost(1);
+        verify(externalApiService, times(2)).getPosts();
+    }
+
+    @Test
+    void testGetMergedPost_PostNotFound() {
+        when(externalApiService.getPost(99)).thenThrow(PostNotFoundException.forPostId(99));
+
+        assertThrows(PostNotFoundException.class, () -> postService.getMergedPost(99, FetchPlan.ALL));
+        verify(externalApiService, never()).getUser(anyInt());
+    }
+
+    @Test
+    void testStreamMergedPosts_EmitsChunksAndReusesUsers() {
+        Post post2 = new Post();
+        post2.setId(2);
+        post2.setUserId(1);
+
+        commentsProperties.setBatchSize(1);
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, post2));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getCommentsForPosts(Arrays.asList(1))).thenReturn(Arrays.asList(sampleComment));
+        when(externalApiService.getCommentsForPosts(Arrays.asList(2))).thenReturn(Arrays.asList());
+
+        List<List<MergedPost>> chunks = new ArrayList<>();
+        postService.streamMergedPosts(FetchPlan.ALL, chunks::add);
+
+        assertEquals(2, chunks.size());
+        assertEquals(1, chunks.get(0).get(0).getId());
+        assertEquals(2, chunks.get(1).get(0).getId());
+        assertEquals("Lionel Messi", chunks.get(1).get(0).getUser().getName());
+        verify(externalApiService, times(1)).getUser(1);
+        verify(externalApiService, never()).getComments();
+    }
+
     @Test
     void testDeletePost_Success() {
         when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost));
@@ -101,6 +458,50 @@ class PostServiceTest {
         });
     }
 
+    @Test
+    void testDeletePost_UsesSnapshotIndexAndPatchesSnapshot() {
+        Post otherPost = new Post();
+        otherPost.setId(2);
+        otherPost.setUserId(1);
+        otherPost.setTitle("Other Post Title");
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, otherPost));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment));
+        postService.getAllMergedPosts();
+
+        postService.deletePost(1);
+        postService.deletePost(2);
+
+        assertTrue(postService.getAllMergedPosts().isEmpty());
+        assertEquals("[]", new String(postService.getSnapshot().body(null)));
+        assertThrows(PostNotFoundException.class, () -> postService.deletePost(1));
+        verify(externalApiService, times(1)).getPosts();
+        verify(externalApiService).deletePost(1);
+        verify(externalApiService).deletePost(2);
+    }
+
+    @Test
+    void testDeletePost_EvictsOnlyPagesAndPartialSnapshotsListingThePost() {
+        Post otherPost = new Post();
+        otherPost.setId(2);
+        otherPost.setUserId(1);
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, otherPost));
+        PostsSnapshot partial = postService.getSnapshot(FetchPlan.POSTS_ONLY);
+        Cache pages = cacheManager.getCache(PostService.POST_PAGES);
+        pages.put("first", postService.getMergedPostsPage(null, 1, FetchPlan.POSTS_ONLY));
+        pages.put("second", postService.getMergedPostsPage(PostService.encodeCursor(1), 1, FetchPlan.POSTS_ONLY));
+
+        postService.deletePost(1);
+
+        assertNull(pages.get("first"));
+        assertNotNull(pages.get("second"));
+        PostsSnapshot patched = postService.getSnapshot(FetchPlan.POSTS_ONLY);
+        assertNotSame(partial, patched);
+        assertEquals(List.of(2), patched.getPosts().stream().map(MergedPost::getId).collect(Collectors.toList()));
+        assertFalse(new String(patched.body(null)).contains("\"id\":1"));
+        verify(externalApiService, times(4)).getPosts();
+    }
+
     @Test
     void testDeletePost_ValidationError() {
         when(externalApiService.getPosts()).thenReturn(Arrays.asList());
@@ -126,13 +527,11 @@ class PostServiceTest {
         post2.setBody("Second post body");
 
         List<Post> posts = Arrays.asList(post1, post2);
-        List<Comment> comments1 = Arrays.asList(sampleComment);
-        List<Comment> comments2 = Arrays.asList();
+        List<Comment> comments = Arrays.asList(sampleComment);
 
         when(externalApiService.getPosts()).thenReturn(posts);
         when(externalApiService.getUser(1)).thenReturn(sampleUser);
-        when(externalApiService.getCommentsForPost(1)).thenReturn(comments1);
-        when(externalApiService.getCommentsForPost(2)).thenReturn(comments2);
+        when(externalApiService.getComments()).thenReturn(comments);
 
         List<MergedPost> result = postService.getAllMergedPosts();
 
@@ -149,4 +548,22 @@ class PostServiceTest {
         
         verify(externalApiService, times(1)).getUser(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllMergedPosts_SnapshotIsImmutableAndShared() {
+        Post post2 = new Post();
+        post2.setId(2);
+        post2.setUserId(1);
+        Comment repeatedCommenter = new Comment(2, 2, new String("Comment Name"), new String("comment@example.com"), "Other body");
+        when(externalApiService.getPosts()).thenReturn(Arrays.asList(samplePost, post2));
+        when(externalApiService.getUser(1)).thenReturn(sampleUser);
+        when(externalApiService.getComments()).thenReturn(Arrays.asList(sampleComment, repeatedCommenter));
+
+        List<MergedPost> result = postService.getAllMergedPosts();
+
+        assertSame(result.get(0).getUser(), result.get(1).getUser());
+        assertSame(result.get(0).getComments().get(0).getEmail(), result.get(1).getComments().get(0).getEmail());
+        assertThrows(UnsupportedOperationException.class, () -> result.get(0).getComments().add(sampleComment));
+        assertThrows(UnsupportedOperationException.class, () -> result.remove(0));
+    }
+}
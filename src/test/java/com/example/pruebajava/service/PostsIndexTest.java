@@ -0,0 +1,204 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostsIndexTest {
+    private final List<MergedPost> posts = List.of(
+        post(1, 1, "Quick brown fox", "jumps over the dog", "Nice post"),
+        post(2, 2, "Lazy dog", "sleeps all day", "The FOX was here"),
+        post(3, 1, "Brown bear", "eats honey", "yummy"));
+
+    @Test
+    void testSearch_MatchesAllTermsAcrossTitleBodyAndComments() {
+        PostsIndex index = PostsIndex.build(posts, null);
+
+        assertArrayEquals(new int[] {1, 2}, index.search("fox"));
+        assertArrayEquals(new int[] {2}, index.search("DOG, fox was"));
+        assertArrayEquals(new int[] {1, 3}, index.search("brown"));
+        assertArrayEquals(new int[0], index.search("brown cat"));
+        assertArrayEquals(new int[0], index.search("  !! "));
+    }
+
+    @Test
+    void testPostsByUser_ReturnsSortedPostIds() {
+        PostsIndex index = PostsIndex.build(posts, null);
+
+        assertArrayEquals(new int[] {1, 3}, index.postsByUser(1));
+        assertArrayEquals(new int[0], index.postsByUser(99));
+    }
+
+    @Test
+    void testBuild_ReusesUnchangedDocumentsFromPreviousIndex() {
+        PostsIndex previous = PostsIndex.build(posts, null);
+        List<MergedPost> changed = List.of(posts.get(0), post(2, 2, "Lazy cat", "sleeps all day", "The FOX was here"),
+            posts.get(2));
+
+        PostsIndex rebuilt = PostsIndex.build(changed, previous);
+
+        assertEquals(2, rebuilt.reusedDocuments());
+        assertArrayEquals(new int[] {2}, rebuilt.search("cat"));
+        assertArrayEquals(new int[0], rebuilt.search("lazy dog"));
+        assertSame(previous.postings("fox"), rebuilt.postings("fox"));
+        assertSame(previous.postings("brown"), rebuilt.postings("brown"));
+    }
+
+    @Test
+    void testBuild_ComparesContentInsteadOfHashes() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        PostsIndex previous = PostsIndex.build(List.of(post(1, 1, "Aa", "body", "comment")), null);
+
+        PostsIndex rebuilt = PostsIndex.build(List.of(post(1, 1, "BB", "body", "comment")), previous);
+
+        assertEquals(0, rebuilt.reusedDocuments());
+        assertArrayEquals(new int[] {1}, rebuilt.search("bb"));
+        assertArrayEquals(new int[0], rebuilt.search("aa"));
+    }
+
+    @Test
+    void testBuild_DropsPostsMissingFromNewList() {
+        PostsIndex rebuilt = PostsIndex.build(List.of(posts.get(1), posts.get(2)), PostsIndex.build(posts, null));
+
+        assertArrayEquals(new int[] {2}, rebuilt.search("fox"));
+        assertArrayEquals(new int[] {3}, rebuilt.postsByUser(1));
+        assertNull(rebuilt.postings("quick"));
+    }
+
+    @Test
+    void testBuild_HandlesSparseHugeAndNegativeIds() {
+        List<MergedPost> sparse = List.of(
+            post(Integer.MAX_VALUE, Integer.MAX_VALUE, "Huge fox", "body", "comment"),
+            post(-7, -3, "Negative fox", "body", "comment"),
+            post(2_000_000_000, -3, "Sparse cat", "body", "comment"));
+
+        PostsIndex index = PostsIndex.build(sparse, null);
+        PostsIndex rebuilt = PostsIndex.build(List.of(sparse.get(0), sparse.get(2)), index);
+
+        assertArrayEquals(new int[] {-7, Integer.MAX_VALUE}, index.search("fox"));
+        assertArrayEquals(new int[] {-7, 2_000_000_000}, index.postsByUser(-3));
+        assertArrayEquals(new int[] {Integer.MAX_VALUE}, index.postsByUser(Integer.MAX_VALUE));
+        assertEquals(2, rebuilt.reusedDocuments());
+        assertArrayEquals(new int[] {Integer.MAX_VALUE}, rebuilt.search("fox"));
+        assertArrayEquals(new int[] {2_000_000_000}, rebuilt.without(Integer.MAX_VALUE).postsByUser(-3));
+        assertArrayEquals(new int[0], rebuilt.without(Integer.MAX_VALUE).search("huge"));
+    }
+
+    @Test
+    void testIdLookup_FallsBackToSortedKeysForSparseIds() {
+        IdLookup dense = IdLookup.ofPositions(new int[] {3, 1, 2});
+        IdLookup sparse = IdLookup.ofPositions(new int[] {Integer.MAX_VALUE, -5, 10});
+
+        assertTrue(dense.isDense());
+        assertEquals(0, dense.get(3));
+        assertEquals(IdLookup.MISSING, dense.get(-1));
+        assertFalse(sparse.isDense());
+        assertEquals(0, sparse.get(Integer.MAX_VALUE));
+        assertEquals(1, sparse.get(-5));
+        assertEquals(IdLookup.MISSING, sparse.get(11));
+    }
+
+    @Test
+    void testWithout_RemovesPostAndDropsEmptyPostings() {
+        PostsIndex index = PostsIndex.build(posts, null);
+        PostsIndex without = index.without(1);
+
+        assertArrayEquals(new int[] {2}, without.search("fox"));
+        assertArrayEquals(new int[] {3}, without.postsByUser(1));
+        assertArrayEquals(new int[0], without.search("quick"));
+        assertSame(index.postings("bear"), without.postings("bear"));
+        assertSame(index, index.without(99));
+    }
+
+    @Test
+    void testSnapshot_BuildsIndexLazilyAndSelectsPostsInSnapshotOrder() {
+        List<MergedPost> reversed = List.of(posts.get(2), posts.get(1), posts.get(0));
+        PostsSnapshot snapshot = new PostsSnapshot(reversed, Instant.now(), new byte[0]);
+
+        assertEquals(1, snapshot.findPost(1).orElseThrow().getId());
+        assertNull(snapshot.builtIndex());
+        assertEquals(List.of(3, 1), ids(snapshot.postsByUser(1)));
+        assertEquals(List.of(2), ids(snapshot.search("fox", 1)));
+        assertNotNull(snapshot.builtIndex());
+        assertNull(new PostsSnapshot(reversed, Instant.now(), new byte[0]).indexWithout(1));
+    }
+
+    @Test
+    void testSnapshot_FindsPostsWithSparseHugeAndNegativeIds() {
+        List<MergedPost> sparse = List.of(
+            post(Integer.MAX_VALUE, 1, "Huge fox", "body", "comment"),
+            post(-7, 1, "Negative fox", "body", "comment"));
+        PostsSnapshot snapshot = new PostsSnapshot(sparse, Instant.now(), new byte[0]);
+
+        assertEquals(Integer.MAX_VALUE, snapshot.findPost(Integer.MAX_VALUE).orElseThrow().getId());
+        assertTrue(snapshot.containsPost(-7));
+        assertFalse(snapshot.containsPost(0));
+        assertEquals(List.of(Integer.MAX_VALUE, -7), ids(snapshot.search("fox", 10)));
+        assertEquals(List.of(-7), ids(new PostsSnapshot(snapshot.postsWithout(Integer.MAX_VALUE), Instant.now(),
+            new byte[0]).getPosts()));
+    }
+
+    @Test
+    void testSnapshot_SerializesBodyOnFirstUse() {
+        AtomicInteger serializations = new AtomicInteger();
+        PostsSnapshot snapshot = new PostsSnapshot(posts, Instant.now(), () -> {
+            serializations.incrementAndGet();
+            return "[]".getBytes(StandardCharsets.UTF_8);
+        }, null, null);
+
+        assertEquals(0, serializations.get());
+        assertEquals(snapshot.getETag() + "-gzip", snapshot.eTag(PostsSnapshot.GZIP));
+        assertArrayEquals("[]".getBytes(StandardCharsets.UTF_8), snapshot.body(null));
+        assertEquals(1, serializations.get());
+    }
+
+    @Test
+    void testSnapshot_CompressesOnlyRequestedEncodings() {
+        PostsSnapshot.Variant variant = new PostsSnapshot(posts, Instant.now(), "[]".getBytes(StandardCharsets.UTF_8))
+            .variant(FieldSet.parse("id"), new ObjectMapper());
+
+        variant.eTag(PostsSnapshot.GZIP);
+        variant.body(PostsSnapshot.GZIP);
+
+        assertTrue(variant.isEncoded(PostsSnapshot.GZIP));
+        assertFalse(variant.isEncoded(PostsSnapshot.DEFLATE));
+    }
+
+    @Test
+    void testSnapshot_KeepsRecentlyUsedProjectionsWithinBound() {
+        PostsSnapshot snapshot = new PostsSnapshot(posts, Instant.now(), "[]".getBytes(StandardCharsets.UTF_8));
+        ObjectMapper objectMapper = new ObjectMapper();
+        String[] fields = {"id", "userId", "title", "body", "user.name"};
+        PostsSnapshot.Variant hot = snapshot.variant(FieldSet.parse("id"), objectMapper);
+
+        for (int mask = 1; mask < 1 << fields.length; mask++) {
+            StringBuilder selection = new StringBuilder();
+            for (int i = 0; i < fields.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    selection.append(selection.length() > 0 ? "," : "").append(fields[i]);
+                }
+            }
+            snapshot.variant(FieldSet.parse(selection.toString()), objectMapper);
+            assertSame(hot, snapshot.variant(FieldSet.parse("id"), objectMapper));
+        }
+
+        assertEquals(PostsSnapshot.MAX_CACHED_PROJECTIONS, snapshot.cachedProjections());
+    }
+
+    private static List<Integer> ids(List<MergedPost> posts) {
+        return posts.stream().map(MergedPost::getId).collect(Collectors.toList());
+    }
+
+    private static MergedPost post(int id, int userId, String title, String body, String comment) {
+        return new MergedPost(id, userId, title, body, null, List.of(new Comment(id, id, "name", "a@b.c", comment)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostsSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    PostsSnapshotStore store;
+    PostsSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new PostsSnapshotStore(tempDir.resolve("snapshots/posts.bin"), objectMapper);
+        User user = new User(1, "Lionel Messi", "lionelmessi", "lionel.messi@example.com");
+        Comment comment = new Comment(1, 1, "Comment Name", "comment@example.com", "Comment body");
+        List<MergedPost> posts = Arrays.asList(new MergedPost(1, 1, "Sample Post", "Sample body", user, List.of(comment)));
+        snapshot = new PostsSnapshot(posts, Instant.parse("2024-01-01T00:00:00Z"), objectMapper.writeValueAsBytes(posts));
+    }
+
+    @Test
+    void testSaveAndLoad_RoundTripsSnapshot() {
+        store.save(snapshot);
+
+        PostsSnapshot loaded = store.load().orElseThrow();
+
+        assertEquals(snapshot.getBuiltAt(), loaded.getBuiltAt());
+        assertEquals(snapshot.getETag(), loaded.getETag());
+        assertEquals("Lionel Messi", loaded.getPosts().get(0).getUser().getName());
+        assertTrue(loaded.containsPost(1));
+    }
+
+    @Test
+    void testLoad_ResharesUsersAndCommentStrings() throws Exception {
+        User user = new User(1, "Lionel Messi", "lionelmessi", "lionel.messi@example.com");
+        Comment first = new Comment(1, 1, "Commenter", "commenter@example.com", "First");
+        Comment second = new Comment(2, 2, "Commenter", "commenter@example.com", "Second");
+        List<MergedPost> posts = Arrays.asList(
+            new MergedPost(1, 1, "First Post", "Body", user, List.of(first)),
+            new MergedPost(2, 1, "Second Post", "Body", user, List.of(second)));
+        store.save(new PostsSnapshot(posts, Instant.parse("2024-01-01T00:00:00Z"), objectMapper.writeValueAsBytes(posts)));
+
+        List<MergedPost> loaded = store.load().orElseThrow().getPosts();
+
+        assertSame(loaded.get(0).getUser(), loaded.get(1).getUser());
+        assertSame(loaded.get(0).getComments().get(0).getEmail(), loaded.get(1).getComments().get(0).getEmail());
+    }
+
+    @Test
+    void testLoad_IgnoresCorruptPayload() throws Exception {
+        store.save(snapshot);
+        Path file = tempDir.resolve("snapshots/posts.bin");
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 5] ^= 0x7F;
+        Files.write(file, content);
+
+        assertEquals(Optional.empty(), store.load());
+    }
+
+    @Test
+    void testLoad_IgnoresUnsupportedFormatVersion() throws Exception {
+        store.save(snapshot);
+        Path file = tempDir.resolve("snapshots/posts.bin");
+        byte[] content = Files.readAllBytes(file);
+        ByteBuffer.wrap(content).putShort(Integer.BYTES, (short) (PostsSnapshotStore.FORMAT_VERSION + 1));
+        Files.write(file, content);
+
+        assertEquals(Optional.empty(), store.load());
+    }
+
+    @Test
+    void testLoad_MissingFileOrDisabledStore() {
+        assertEquals(Optional.empty(), store.load());
+        assertEquals(Optional.empty(), PostsSnapshotStore.disabled().load());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.exception.PostNotFoundException;
+import com.example.pruebajava.exception.UserNotFoundException;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveExternalApiClientTest {
+
+    @Test
+    void testGetPosts_Success() {
+        ReactiveExternalApiClient client = clientReturning(HttpStatus.OK,
+            "[{\"userId\":1,\"id\":1,\"title\":\"Sample Post\",\"body\":\"Sample body\"}]");
+
+        List<Post> posts = client.getPosts().join();
+
+        assertEquals(1, posts.size());
+        assertEquals("Sample Post", posts.get(0).getTitle());
+    }
+
+    @Test
+    void testGetCommentsForPosts_UsesSingleBatchedRequest() {
+        AtomicReference<ClientRequest> captured = new AtomicReference<>();
+        WebClient webClient = WebClient.builder()
+            .baseUrl("http://upstream")
+            .exchangeFunction(request -> {
+                captured.set(request);
+                return Mono.just(jsonResponse(HttpStatus.OK, "[{\"postId\":1,\"id\":1}]"));
+            })
+            .build();
+
+        List<Comment> comments = new ReactiveExternalApiClient(webClient).getCommentsForPosts(Arrays.asList(1, 2)).join();
+
+        assertEquals(1, comments.size());
+        assertEquals("postId=1&postId=2", captured.get().url().getQuery());
+    }
+
+    @Test
+    void testGetUser_NotFound() {
+        ReactiveExternalApiClient client = clientReturning(HttpStatus.NOT_FOUND, "{}");
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.getUser(999).join());
+
+        assertInstanceOf(UserNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void testDeletePost_NotFound() {
+        ReactiveExternalApiClient client = clientReturning(HttpStatus.NOT_FOUND, "{}");
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.deletePost(999).join());
+
+        assertInstanceOf(PostNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void testGetPosts_ServerError() {
+        ReactiveExternalApiClient client = clientReturning(HttpStatus.INTERNAL_SERVER_ERROR, "{}");
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.getPosts().join());
+
+        assertInstanceOf(ExternalServiceException.class, exception.getCause());
+    }
+
+    @Test
+    void testGetComments_ConnectionError() {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> Mono.error(new WebClientRequestException(
+                new ConnectException("Connection refused"), HttpMethod.GET, request.url(), new HttpHeaders())))
+            .build();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> new ReactiveExternalApiClient(webClient).getComments().join());
+
+        assertInstanceOf(ExternalServiceException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().contains("Timeout"));
+    }
+
+    private static ReactiveExternalApiClient clientReturning(HttpStatus status, String body) {
+        WebClient webClient = WebClient.builder()
+            .baseUrl("http://upstream")
+            .exchangeFunction(request -> Mono.just(jsonResponse(status, body)))
+            .build();
+        return new ReactiveExternalApiClient(webClient);
+    }
+
+    private static ClientResponse jsonResponse(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build();
+    }
+}
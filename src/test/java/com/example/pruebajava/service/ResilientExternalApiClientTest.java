@@ -0,0 +1,167 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.ResilienceProperties;
+import com.example.pruebajava.config.UpstreamExecutors;
+import com.example.pruebajava.exception.BulkheadFullException;
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.exception.UserNotFoundException;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientExternalApiClientTest {
+    @Mock
+    ExternalApiClient delegate;
+
+    ResilienceProperties properties = new ResilienceProperties();
+    MutableClock clock = new MutableClock();
+
+    @BeforeEach
+    void setUp() {
+        properties.getRetry().setInitialBackoff(Duration.ZERO);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+    }
+
+    @Test
+    void testGetPosts_RetriesTransientFailure() {
+        when(delegate.getPosts())
+            .thenReturn(failed(ExternalServiceException.timeout("JSONPlaceholder Posts API", 5)))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new Post())));
+
+        List<Post> posts = client().getPosts().join();
+
+        assertEquals(1, posts.size());
+        verify(delegate, times(2)).getPosts();
+    }
+
+    @Test
+    void testGetUser_DoesNotRetryNotFound() {
+        when(delegate.getUser(999)).thenReturn(failed(UserNotFoundException.forUserId(999)));
+
+        CompletionException error = assertThrows(CompletionException.class, () -> client().getUser(999).join());
+
+        assertTrue(error.getCause() instanceof UserNotFoundException);
+        verify(delegate, times(1)).getUser(999);
+    }
+
+    @Test
+    void testBulkheadRejection_NeitherRetriedNorCountedByBreaker() {
+        when(delegate.getUser(1)).thenReturn(failed(BulkheadFullException.forService("JSONPlaceholder Users API")));
+        ResilientExternalApiClient client = client();
+
+        for (int i = 0; i < 4; i++) {
+            CompletionException error = assertThrows(CompletionException.class, () -> client.getUser(1).join());
+            assertTrue(error.getCause() instanceof BulkheadFullException);
+        }
+
+        verify(delegate, times(4)).getUser(1);
+        assertTrue(client.circuitBreakers().stream().allMatch(breaker -> breaker.getState() == CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void testDeletePost_IsNotRetried() {
+        when(delegate.deletePost(1)).thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Delete API")));
+
+        assertThrows(CompletionException.class, () -> client().deletePost(1).join());
+
+        verify(delegate, times(1)).deletePost(1);
+    }
+
+    @Test
+    void testRetryBudget_LimitsRetriesAcrossCalls() {
+        properties.getRetry().setBudgetMaxTokens(1);
+        properties.getRetry().setBudgetRatio(0);
+        properties.getCircuitBreaker().setMinimumCalls(100);
+        when(delegate.getUser(1)).thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")));
+        ResilientExternalApiClient client = client();
+
+        assertThrows(CompletionException.class, () -> client.getUser(1).join());
+        assertThrows(CompletionException.class, () -> client.getUser(1).join());
+
+        verify(delegate, times(3)).getUser(1);
+    }
+
+    @Test
+    void testCircuitBreaker_FailsFastWhenOpenAndRecoversAfterOpenDuration() {
+        properties.getRetry().setMaxAttempts(1);
+        when(delegate.getUser(1))
+            .thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")))
+            .thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")))
+            .thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")))
+            .thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")))
+            .thenReturn(CompletableFuture.completedFuture(new User(1, "Lionel Messi", null, null)));
+        ResilientExternalApiClient client = client();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CompletionException.class, () -> client.getUser(1).join());
+        }
+
+        CompletionException open = assertThrows(CompletionException.class, () -> client.getUser(1).join());
+        assertTrue(open.getCause().getMessage().contains("Circuit breaker open"));
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitBreakers().get(1).getState());
+        verify(delegate, times(4)).getUser(1);
+
+        clock.advance(properties.getCircuitBreaker().getOpenDuration());
+        assertEquals("Lionel Messi", client.getUser(1).join().getName());
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitBreakers().get(1).getState());
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitBreakers().get(0).getState());
+    }
+
+    @Test
+    void testRetryBackoff_SlowRetriedCallDoesNotHoldUpOtherBackoffs() throws Exception {
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(5));
+        properties.getCircuitBreaker().setMinimumCalls(100);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            when(delegate.getPosts())
+                .thenReturn(failed(ExternalServiceException.timeout("JSONPlaceholder Posts API", 5)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return CompletableFuture.completedFuture(List.of(new Post()));
+                });
+            when(delegate.getUser(1))
+                .thenReturn(failed(ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")))
+                .thenReturn(CompletableFuture.completedFuture(new User(1, "Lionel Messi", null, null)));
+            ResilientExternalApiClient client = new ResilientExternalApiClient(delegate, properties, clock,
+                new UpstreamExecutors(pool, pool, pool));
+
+            CompletableFuture<List<Post>> slow = client.getPosts();
+            verify(delegate, timeout(1000).times(2)).getPosts();
+
+            assertEquals("Lionel Messi", client.getUser(1).get(1, TimeUnit.SECONDS).getName());
+            assertFalse(slow.isDone());
+            release.countDown();
+            assertEquals(1, slow.get(1, TimeUnit.SECONDS).size());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private ResilientExternalApiClient client() {
+        return new ResilientExternalApiClient(delegate, properties, clock, UpstreamExecutors.sameThread());
+    }
+
+    private static <T> CompletableFuture<T> failed(RuntimeException error) {
+        return CompletableFuture.failedFuture(error);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.exception.ExternalServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    SingleFlight<Integer, String> singleFlight = new SingleFlight<>("test");
+
+    @Test
+    void testExecute_ConcurrentCallersShareInFlightCall() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute(1, () -> { calls.incrementAndGet(); return upstream; });
+        CompletableFuture<String> second = singleFlight.execute(1, () -> { calls.incrementAndGet(); return upstream; });
+        upstream.complete("user-1");
+
+        assertEquals("user-1", first.join());
+        assertEquals("user-1", second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.executedCount());
+        assertEquals(1, singleFlight.deduplicatedCount());
+    }
+
+    @Test
+    void testExecute_CompletedCallIsNotReused() {
+        singleFlight.execute(1, () -> CompletableFuture.completedFuture("first")).join();
+
+        String result = singleFlight.execute(1, () -> CompletableFuture.completedFuture("second")).join();
+
+        assertEquals("second", result);
+        assertEquals(2, singleFlight.executedCount());
+        assertEquals(0, singleFlight.deduplicatedCount());
+    }
+
+    @Test
+    void testExecute_SupplierFailureIsPropagatedAndReleasesKey() {
+        CompletableFuture<String> failed = singleFlight.execute(1, () -> {
+            throw ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API");
+        });
+
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertTrue(error.getCause() instanceof ExternalServiceException);
+        assertEquals("ok", singleFlight.execute(1, () -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    @Test
+    void testBindTo_ExposesDeduplicationCounters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        singleFlight.execute(1, () -> upstream);
+        singleFlight.execute(1, () -> upstream);
+        singleFlight.execute(1, () -> upstream);
+
+        assertEquals(1, registry.get("singleflight.calls").tag("name", "test").tag("outcome", "executed").functionCounter().count());
+        assertEquals(2, registry.get("singleflight.calls").tag("name", "test").tag("outcome", "deduplicated").functionCounter().count());
+    }
+}
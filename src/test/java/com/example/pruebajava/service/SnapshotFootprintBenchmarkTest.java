@@ -0,0 +1,225 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.EntityCacheProperties;
+import com.example.pruebajava.dto.MergedPost;
+import com.example.pruebajava.model.Comment;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SnapshotFootprintBenchmarkTest {
+    private static final int POSTS = 5_000;
+    private static final int USERS = 100;
+    private static final int COMMENTS_PER_POST = 20;
+    private static final int COMMENTERS = 2_000;
+    private static final double MAX_COMPACT_RATIO = 0.8;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Measures what the heap retains after a rebuild: the entity caches plus the snapshot built from them.
+     */
+    @Test
+    void compareSnapshotFootprint() throws Exception {
+        String usersJson = usersJson();
+        String commentsJson = commentsJson();
+
+        long legacyBytes = retainedBytes(() -> legacyHeap(usersJson, commentsJson));
+        long compactBytes = retainedBytes(() -> compactHeap(usersJson, commentsJson));
+
+        System.out.printf("legacy caches + mutable snapshot:    %,d bytes%n", legacyBytes);
+        System.out.printf("compact caches + immutable snapshot: %,d bytes (%.0f%% of legacy)%n",
+            compactBytes, 100.0 * compactBytes / legacyBytes);
+        assertTrue(compactBytes < legacyBytes * MAX_COMPACT_RATIO,
+            "compact heap should stay under " + MAX_COMPACT_RATIO + " of legacy");
+    }
+
+    private Object legacyHeap(String usersJson, String commentsJson) {
+        try {
+            Map<Integer, LegacyUser> users = new HashMap<>();
+            for (LegacyUser user : objectMapper.readValue(usersJson, LegacyUser[].class)) {
+                users.put(user.id, user);
+            }
+            Map<Integer, List<LegacyComment>> commentsByPost = new HashMap<>();
+            for (LegacyComment comment : objectMapper.readValue(commentsJson, LegacyComment[].class)) {
+                commentsByPost.computeIfAbsent(comment.postId, postId -> new ArrayList<>()).add(comment);
+            }
+            List<LegacyMergedPost> merged = new ArrayList<>();
+            for (int id = 1; id <= POSTS; id++) {
+                LegacyMergedPost post = new LegacyMergedPost();
+                post.id = id;
+                post.userId = userIdFor(id);
+                post.title = "title " + id;
+                post.body = "body " + id;
+                post.user = users.get(post.userId);
+                post.comments = commentsByPost.getOrDefault(id, new ArrayList<>());
+                merged.add(post);
+            }
+            return List.of(users, commentsByPost, merged);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object compactHeap(String usersJson, String commentsJson) {
+        CachingExternalApiClient client = new CachingExternalApiClient(new JsonUpstream(usersJson, commentsJson),
+            new EntityCacheProperties());
+        List<Post> posts = client.getPosts().join();
+        Map<Integer, User> users = new HashMap<>();
+        posts.stream().map(Post::getUserId).distinct().forEach(userId -> users.put(userId, client.getUser(userId).join()));
+        Map<Integer, List<Comment>> commentsByPost = PostService.groupByPostId(client.getComments().join());
+        List<MergedPost> merged = PostService.assemble(posts, users, commentsByPost, FetchPlan.ALL,
+            new StringPool(StringPool.DEFAULT_MAX_SIZE));
+        return List.of(client, merged);
+    }
+
+    private static long retainedBytes(Supplier<Object> snapshot) throws InterruptedException {
+        long before = usedHeapAfterGc();
+        Object retained = snapshot.get();
+        long after = usedHeapAfterGc();
+        assertNotNull(retained);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int userIdFor(int postId) {
+        return postId % USERS + 1;
+    }
+
+    private static String usersJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= USERS; id++) {
+            json.append(id > 1 ? "," : "")
+                .append("{\"id\":").append(id)
+                .append(",\"name\":\"User ").append(id)
+                .append("\",\"username\":\"user").append(id)
+                .append("\",\"email\":\"user").append(id).append("@example.com\"}");
+        }
+        return json.append("]").toString();
+    }
+
+    private static String commentsJson() {
+        StringBuilder json = new StringBuilder("[");
+        int id = 0;
+        for (int postId = 1; postId <= POSTS; postId++) {
+            for (int i = 0; i < COMMENTS_PER_POST; i++) {
+                int commenter = (postId * 31 + i * 17) % COMMENTERS;
+                json.append(id > 0 ? "," : "")
+                    .append("{\"postId\":").append(postId)
+                    .append(",\"id\":").append(++id)
+                    .append(",\"name\":\"Commenter ").append(commenter)
+                    .append("\",\"email\":\"commenter").append(commenter).append("@example.com\"")
+                    .append(",\"body\":\"comment ").append(id).append(" on post ").append(postId).append("\"}");
+            }
+        }
+        return json.append("]").toString();
+    }
+
+    private final class JsonUpstream implements ExternalApiClient {
+        private final String usersJson;
+        private final String commentsJson;
+
+        private JsonUpstream(String usersJson, String commentsJson) {
+            this.usersJson = usersJson;
+            this.commentsJson = commentsJson;
+        }
+
+        @Override
+        public CompletableFuture<List<Post>> getPosts() {
+            List<Post> posts = new ArrayList<>();
+            for (int id = 1; id <= POSTS; id++) {
+                Post post = new Post();
+                post.setId(id);
+                post.setUserId(userIdFor(id));
+                post.setTitle("title " + id);
+                post.setBody("body " + id);
+                posts.add(post);
+            }
+            return CompletableFuture.completedFuture(posts);
+        }
+
+        @Override
+        public CompletableFuture<Post> getPost(Integer postId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<List<Comment>> getComments() {
+            return CompletableFuture.completedFuture(read(commentsJson, Comment[].class));
+        }
+
+        @Override
+        public CompletableFuture<List<Comment>> getCommentsForPosts(Collection<Integer> postIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<List<Comment>> getCommentsForPost(Integer postId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<User> getUser(Integer userId) {
+            return CompletableFuture.completedFuture(read(usersJson, User[].class).get(userId - 1));
+        }
+
+        @Override
+        public CompletableFuture<Void> deletePost(Integer postId) {
+            throw new UnsupportedOperationException();
+        }
+
+        private <T> List<T> read(String json, Class<T[]> type) {
+            try {
+                return Arrays.asList(objectMapper.readValue(json, type));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    static class LegacyUser {
+        public Integer id;
+        public String name;
+        public String username;
+        public String email;
+    }
+
+    static class LegacyComment {
+        public Integer postId;
+        public Integer id;
+        public String name;
+        public String email;
+        public String body;
+    }
+
+    static class LegacyMergedPost {
+        Integer id;
+        Integer userId;
+        String title;
+        String body;
+        LegacyUser user;
+        List<LegacyComment> comments;
+    }
+}
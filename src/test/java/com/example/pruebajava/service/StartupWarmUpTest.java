@@ -0,0 +1,132 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.config.CommentsProperties;
+import com.example.pruebajava.config.WarmUpProperties;
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.model.Post;
+import com.example.pruebajava.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmUpTest {
+    @Mock
+    ExternalApiClient externalApi;
+
+    @Mock
+    PostService postService;
+
+    CommentsProperties commentsProperties = new CommentsProperties();
+    WarmUpProperties properties = new WarmUpProperties();
+    StartupWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTimeout(Duration.ofSeconds(2));
+        properties.setRetryInterval(Duration.ofMillis(50));
+        warmUp = new StartupWarmUp(externalApi, postService, commentsProperties, properties);
+    }
+
+    @Test
+    void testRun_PrebuildsCachesAndSnapshotBeforeReportingReady() {
+        Post first = new Post();
+        first.setId(1);
+        first.setUserId(1);
+        Post second = new Post();
+        second.setId(2);
+        second.setUserId(1);
+        when(externalApi.getPosts()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(first, second)));
+        when(externalApi.getUser(1)).thenReturn(CompletableFuture.completedFuture(new User(1, null, null, null)));
+
+        assertEquals(Status.OUT_OF_SERVICE, warmUp.health().getStatus());
+        warmUp.run(new DefaultApplicationArguments());
+
+        Health health = warmUp.health();
+        assertEquals(StartupWarmUp.Status.READY, warmUp.getStatus());
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(List.of("posts", "users", "snapshot"),
+            List.copyOf(((Map<?, ?>) health.getDetails().get("phasesMillis")).keySet()));
+        verify(externalApi, times(1)).getUser(1);
+        verify(externalApi, never()).getComments();
+        verify(postService).rebuildSnapshot();
+    }
+
+    @Test
+    void testRun_BatchedModeWarmsCommentsBeforeSnapshot() {
+        commentsProperties.setFetchMode(CommentsProperties.FetchMode.BATCHED);
+        commentsProperties.setBatchSize(1);
+        Post first = new Post();
+        first.setId(1);
+        first.setUserId(1);
+        Post second = new Post();
+        second.setId(2);
+        second.setUserId(1);
+        when(externalApi.getPosts()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(first, second)));
+        when(externalApi.getUser(1)).thenReturn(CompletableFuture.completedFuture(new User(1, null, null, null)));
+        when(externalApi.getCommentsForPosts(anyList())).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        assertEquals(List.of("posts", "users", "comments", "snapshot"),
+            List.copyOf(((Map<?, ?>) warmUp.health().getDetails().get("phasesMillis")).keySet()));
+        verify(externalApi, times(2)).getCommentsForPosts(anyList());
+        verify(externalApi, never()).getComments();
+    }
+
+    @Test
+    void testRun_RetriesUntilTimeoutThenAcceptsTraffic() {
+        properties.setTimeout(Duration.ofMillis(300));
+        when(externalApi.getPosts()).thenReturn(CompletableFuture.failedFuture(
+            ExternalServiceException.serviceUnavailable("JSONPlaceholder Posts API")));
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        assertEquals(StartupWarmUp.Status.TIMED_OUT, warmUp.getStatus());
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        verify(externalApi, atLeast(2)).getPosts();
+        verify(externalApi, never()).getUser(anyInt());
+        verify(postService, never()).rebuildSnapshot();
+    }
+
+    @Test
+    void testRun_RestoredSnapshotReportsReadyAndRefreshesInBackground() {
+        CompletableFuture<List<Post>> posts = new CompletableFuture<>();
+        when(postService.hasServableSnapshot()).thenReturn(true);
+        when(externalApi.getPosts()).thenReturn(posts);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        assertEquals(StartupWarmUp.Status.RESTORED, warmUp.getStatus());
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        posts.complete(List.of());
+        verify(postService, timeout(1000)).rebuildSnapshot();
+    }
+
+    @Test
+    void testRun_Disabled() {
+        properties.setEnabled(false);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        assertEquals(StartupWarmUp.Status.DISABLED, warmUp.getStatus());
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        verifyNoInteractions(externalApi, postService);
+    }
+}
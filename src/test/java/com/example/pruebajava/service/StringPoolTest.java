@@ -0,0 +1,43 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.model.Comment;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @Test
+    void testDedup_ReturnsPooledInstance() {
+        StringPool pool = new StringPool(10);
+        String first = pool.dedup(new String("commenter@example.com"));
+
+        assertSame(first, pool.dedup(new String("commenter@example.com")));
+        assertNull(pool.dedup((String) null));
+    }
+
+    @Test
+    void testDedup_StopsGrowingAtMaxSize() {
+        StringPool pool = new StringPool(2);
+        pool.dedup("a");
+        pool.dedup("b");
+        String overflow = new String("c");
+
+        assertSame(overflow, pool.dedup(overflow));
+        assertNotSame(overflow, pool.dedup(new String("c")));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void testDedupComment_KeepsInstanceWhenAlreadyPooled() {
+        StringPool pool = new StringPool(10);
+        Comment comment = new Comment(1, 1, "name", "email", "body");
+        Comment copy = new Comment(2, 2, new String("name"), new String("email"), "other");
+
+        assertSame(comment, pool.dedup(comment));
+        Comment deduplicated = pool.dedup(copy);
+        assertNotSame(copy, deduplicated);
+        assertSame(comment.getEmail(), deduplicated.getEmail());
+        assertEquals("other", deduplicated.getBody());
+    }
+}
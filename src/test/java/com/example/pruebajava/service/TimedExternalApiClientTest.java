@@ -0,0 +1,41 @@
+package com.example.pruebajava.service;
+
+import com.example.pruebajava.exception.ExternalServiceException;
+import com.example.pruebajava.exception.UserNotFoundException;
+import com.example.pruebajava.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimedExternalApiClientTest {
+    @Mock
+    ExternalApiClient delegate;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testCalls_RecordedByMethodAndOutcome() {
+        TimedExternalApiClient client = new TimedExternalApiClient(delegate, registry);
+        when(delegate.getPosts()).thenReturn(CompletableFuture.completedFuture(List.of(new Post())));
+        when(delegate.getUser(1)).thenReturn(CompletableFuture.failedFuture(UserNotFoundException.forUserId(1)));
+        when(delegate.getUser(2)).thenReturn(CompletableFuture.failedFuture(
+            ExternalServiceException.serviceUnavailable("JSONPlaceholder Users API")));
+
+        client.getPosts().join();
+        assertThrows(Exception.class, () -> client.getUser(1).join());
+        assertThrows(Exception.class, () -> client.getUser(2).join());
+
+        assertEquals(1, registry.get("upstream.requests").tags("method", "getPosts", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("upstream.requests").tags("method", "getUser", "outcome", "not_found").timer().count());
+        assertEquals(1, registry.get("upstream.requests").tags("method", "getUser", "outcome", "upstream_error").timer().count());
+    }
+}